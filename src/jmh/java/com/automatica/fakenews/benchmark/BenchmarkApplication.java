@@ -0,0 +1,108 @@
+package com.automatica.fakenews.benchmark;
+
+import com.automatica.fakenews.FakeNewsReporterApplication;
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.service.ReportStatisticsService;
+import com.automatica.fakenews.service.UrlNormalizer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the application against a private in-memory H2 database and seeds it with reports, so benchmarks
+ * measure the real service, repository and template code. Caches are disabled so every call reaches the
+ * database; templates are cached as in production.
+ */
+final class BenchmarkApplication {
+
+    static final String[] CATEGORIES = {"Politics", "Health", "Science", "Technology", "Entertainment", "Finance", "Other"};
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * {@code overrides} are additional {@code key=value} properties, e.g. to add a profile or resize the pool.
+     */
+    static ConfigurableApplicationContext start(int rows, String... overrides) {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.profiles.active=local",
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.h2.console.enabled=false",
+                "spring.cache.type=none",
+                "spring.thymeleaf.cache=true",
+                "spring.devtools.restart.enabled=false",
+                "spring.devtools.livereload.enabled=false",
+                "spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration",
+                "server.port=0",
+                "logging.level.root=WARN",
+                "logging.level.com.automatica=WARN"));
+        properties.addAll(List.of(overrides));
+        Map<String, String> byKey = new LinkedHashMap<>();
+        for (String property : properties) {
+            int separator = property.indexOf('=');
+            byKey.put(property.substring(0, separator), property.substring(separator + 1));
+        }
+        // Passed as command line arguments, which take precedence over application.yml and the profile files
+        String[] args = byKey.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FakeNewsReporterApplication.class).run(args);
+        seed(context.getBean(JdbcTemplate.class), rows);
+        context.getBean(ReportStatisticsService.class).reconcile();
+        return context;
+    }
+
+    /**
+     * The status report {@code id} is seeded with.
+     */
+    static ReportStatus seededStatus(long id) {
+        return id % 10 == 0 ? ReportStatus.PENDING : id % 10 <= 6 ? ReportStatus.APPROVED : ReportStatus.REJECTED;
+    }
+
+    /**
+     * Inserts {@code rows} reports with ids 1..rows, submitted one minute apart: 10% pending, 60% approved
+     * and 30% rejected, spread over seven categories and 500 sources.
+     */
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        LocalDateTime now = LocalDateTime.now();
+        String sql = "INSERT INTO fake_news_reports (id, news_source, url, category, description, reported_at, approved, " +
+                "approved_at, approved_by, rejected_at, rejected_by, status, processed_at, canonical_url_hash, duplicate_count) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (long id = 1; id <= rows; id++) {
+            String url = "https://news" + (id % 500) + ".example/articles/" + id;
+            Timestamp reportedAt = Timestamp.valueOf(now.minusMinutes(rows - id + 60));
+            Timestamp processedAt = Timestamp.valueOf(now.minusMinutes(rows - id + 30));
+            ReportStatus status = seededStatus(id);
+            boolean approved = status == ReportStatus.APPROVED;
+            boolean rejected = status == ReportStatus.REJECTED;
+            batch.add(new Object[]{
+                    id, "Source " + (id % 500), url, CATEGORIES[(int) (id % CATEGORIES.length)],
+                    "Seeded report " + id + " claiming something that did not happen. ".repeat(3),
+                    reportedAt, approved,
+                    approved ? processedAt : null, approved ? "admin" : null,
+                    rejected ? processedAt : null, rejected ? "admin" : null,
+                    status.name(), status == ReportStatus.PENDING ? null : processedAt,
+                    UrlNormalizer.hash(url)});
+            if (batch.size() == SEED_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        // Keep ids generated by the benchmarks clear of the seeded ones
+        jdbcTemplate.execute("ALTER SEQUENCE fake_news_reports_seq RESTART WITH " + (rows + 1_000));
+    }
+}
@@ -0,0 +1,68 @@
+package com.automatica.fakenews.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test comparing request handling on Tomcat's platform thread pool with the {@code virtual} profile.
+ * More clients than Tomcat has worker threads request report detail pages, each of which holds a database
+ * connection from a deliberately small pool for the whole request. Run on Java 21 (-Pjava21) for the virtual
+ * mode to take effect; compare the throughput and the p99/p99.9 of the sample-time results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(400)
+@Fork(1)
+public class HttpLoadBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"platform", "virtual"})
+    private String threading;
+
+    @Param({"10"})
+    private int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(ROWS,
+                "spring.profiles.active=" + ("virtual".equals(threading) ? "local,virtual" : "local"),
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int reportDetail() throws Exception {
+        // Ids ending in 1-6 are approved in the seeded data, so every request renders a page
+        long id = ThreadLocalRandom.current().nextLong(ROWS / 10) * 10 + 1 + ThreadLocalRandom.current().nextInt(6);
+        HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/reports/" + id)).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /reports/" + id + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,52 @@
+package com.automatica.fakenews.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login throughput through the application's authentication manager, i.e. what every form login and every
+ * HTTP basic request (such as a Prometheus scrape) costs, for several BCrypt strengths with and without the
+ * user details cache. The hash dominates at production strengths; the cache removes the users query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoginBenchmark {
+
+    @Param({"4", "10", "12"})
+    private int bcryptStrength;
+
+    @Param({"true", "false"})
+    private boolean userCache;
+
+    private ConfigurableApplicationContext context;
+    private AuthenticationManager authenticationManager;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // The default admin account is created with the configured strength
+        context = BenchmarkApplication.start(0,
+                "app.security.bcrypt-strength=" + bcryptStrength,
+                "app.security.user-cache.enabled=" + userCache);
+        authenticationManager = context.getBean(AuthenticationManager.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return authenticationManager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin123"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.automatica.fakenews.benchmark;
+
+import com.automatica.fakenews.dto.ReportFilter;
+import com.automatica.fakenews.dto.ReportPage;
+import com.automatica.fakenews.dto.ReportSummary;
+import com.automatica.fakenews.model.FakeNewsReport;
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.service.FakeNewsReportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency of the service calls behind the public feed, the moderation dashboard and report submission,
+ * against an H2 database seeded with {@code rows} reports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private FakeNewsReportService reportService;
+    private final ReportFilter noFilter = new ReportFilter();
+    private final AtomicLong nextModeratedId = new AtomicLong();
+    private final AtomicLong nextSubmission = new AtomicLong();
+    // Ids of the reports moderateReport currently leaves approved
+    private BitSet approved;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(rows);
+        reportService = context.getBean(FakeNewsReportService.class);
+        approved = new BitSet(rows + 1);
+        for (int id = 1; id <= rows; id++) {
+            if (BenchmarkApplication.seededStatus(id) == ReportStatus.APPROVED) {
+                approved.set(id);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReportPage<ReportSummary> getPublicReports() {
+        return reportService.getPublicReports(null, null, null);
+    }
+
+    /**
+     * The unpaginated pending list, which grows with the table (a tenth of the seeded rows are pending).
+     */
+    @Benchmark
+    public List<ReportSummary> getPendingReports() {
+        return reportService.getPendingReports();
+    }
+
+    @Benchmark
+    public ReportPage<ReportSummary> getPendingModerationPage() {
+        return reportService.getModerationPage(ReportStatus.PENDING, noFilter, null, null, "admin");
+    }
+
+    /**
+     * Approves the next seeded report, or rejects it if it is approved already, so that every call changes a
+     * status rather than hitting the early return for a report that is already in the requested state.
+     */
+    @Benchmark
+    public void moderateReport() {
+        int id = (int) (nextModeratedId.getAndIncrement() % rows + 1);
+        if (approved.get(id)) {
+            reportService.rejectReport((long) id, "benchmark");
+            approved.clear(id);
+        } else {
+            reportService.approveReport((long) id, "benchmark");
+            approved.set(id);
+        }
+    }
+
+    @Benchmark
+    public FakeNewsReport saveReport() {
+        long n = nextSubmission.incrementAndGet();
+        FakeNewsReport report = new FakeNewsReport();
+        report.setNewsSource("Benchmark Source " + (n % 500));
+        report.setUrl("https://submitted.example/articles/" + n);
+        report.setCategory(BenchmarkApplication.CATEGORIES[(int) (n % BenchmarkApplication.CATEGORIES.length)]);
+        report.setDescription("Submitted during a benchmark run");
+        return reportService.saveReport(report);
+    }
+}
@@ -0,0 +1,96 @@
+package com.automatica.fakenews.benchmark;
+
+import com.automatica.fakenews.controller.AdminController;
+import com.automatica.fakenews.dto.ReportFilter;
+import com.automatica.fakenews.dto.ReportPage;
+import com.automatica.fakenews.dto.ReportSummary;
+import com.automatica.fakenews.service.FakeNewsReportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering time of the public home page and the admin dashboard through the application's Thymeleaf view
+ * resolver. Models are built once up front, so only template processing is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRenderingBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private View indexView;
+    private View dashboardView;
+    private Map<String, Object> indexModel;
+    private Map<String, Object> dashboardModel;
+    private final CsrfToken csrfToken = new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "benchmark-token");
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = BenchmarkApplication.start(rows);
+        ViewResolver viewResolver = context.getBean("thymeleafViewResolver", ViewResolver.class);
+        indexView = viewResolver.resolveViewName("index", Locale.ENGLISH);
+        dashboardView = viewResolver.resolveViewName("admin/dashboard", Locale.ENGLISH);
+
+        ReportPage<ReportSummary> feed = context.getBean(FakeNewsReportService.class).getPublicReports(null, null, null);
+        indexModel = Map.of("page", feed, "reports", feed.getItems());
+
+        // Benchmark threads are not the setup thread, so share the admin login across all threads
+        Authentication admin = UsernamePasswordAuthenticationToken.authenticated(
+                "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(admin);
+
+        ExtendedModelMap model = new ExtendedModelMap();
+        ReportFilter filter = new ReportFilter();
+        model.addAttribute("filter", filter);
+        context.getBean(AdminController.class).dashboard(filter, null, admin, model);
+        dashboardModel = new HashMap<>(model);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int renderIndex() throws Exception {
+        return render(indexView, indexModel, "/");
+    }
+
+    @Benchmark
+    public int renderDashboard() throws Exception {
+        return render(dashboardView, dashboardModel, "/admin/dashboard");
+    }
+
+    private int render(View view, Map<String, Object> model, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, context);
+        request.setAttribute(CsrfToken.class.getName(), csrfToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        view.render(model, request, response);
+        return response.getContentAsByteArray().length;
+    }
+}
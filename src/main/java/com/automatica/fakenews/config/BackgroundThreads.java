@@ -0,0 +1,44 @@
+package com.automatica.fakenews.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the application's own background threads. They are virtual threads when
+ * {@code spring.threads.virtual.enabled} is set and the JVM supports them (Java 21+), the same switch that
+ * moves Tomcat and the scheduler onto virtual threads, and platform threads otherwise.
+ */
+@Component
+public class BackgroundThreads {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    public boolean isVirtual() {
+        return virtualThreadsEnabled && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+    }
+
+    /**
+     * Returns a factory whose threads are named {@code namePrefix} followed by a sequence number.
+     */
+    public ThreadFactory threadFactory(String namePrefix) {
+        if (isVirtual()) {
+            return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+        }
+        return new CustomizableThreadFactory(namePrefix);
+    }
+
+    /**
+     * Returns a new, unstarted thread with the given name.
+     */
+    public Thread newThread(String name, Runnable task) {
+        Thread thread = threadFactory(name + "-").newThread(task);
+        thread.setName(name);
+        return thread;
+    }
+}
@@ -0,0 +1,16 @@
+package com.automatica.fakenews.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Runs the cache advice outside the transactional advice, so evictions happen after commit and a concurrent
+// reader cannot re-cache the pre-moderation state, and cache hits never open a transaction.
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String PUBLIC_FEED = "publicFeed";
+    public static final String PUBLIC_FEED_VERSION = "publicFeedVersion";
+    public static final String PAGE_SNAPSHOTS = "pageSnapshots";
+}
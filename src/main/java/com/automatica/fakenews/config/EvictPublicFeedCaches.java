@@ -0,0 +1,25 @@
+package com.automatica.fakenews.config;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method that changes what the public feed shows: evicts every cache derived from
+ * approved or rejected reports once the method has returned.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.PUBLIC_FEED, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.PUBLIC_FEED_VERSION, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.PAGE_SNAPSHOTS, allEntries = true)
+})
+public @interface EvictPublicFeedCaches {
+}
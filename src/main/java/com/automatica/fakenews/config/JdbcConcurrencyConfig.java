@@ -0,0 +1,88 @@
+package com.automatica.fakenews.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps the application data source in a {@link ConnectionLimitingDataSource} when
+ * {@code app.jdbc.limit-concurrency} is enabled (it is in the {@code virtual} profile). The limit defaults
+ * to the Hikari pool size, so callers queue on the semaphore rather than inside the pool. With a read replica
+ * both pools are limited separately.
+ */
+@Configuration
+@ConditionalOnProperty("app.jdbc.limit-concurrency")
+public class JdbcConcurrencyConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcConcurrencyConfig.class);
+
+    @Bean
+    public static ConnectionLimitingPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new ConnectionLimitingPostProcessor(environment);
+    }
+
+    /**
+     * Wraps every connection pool and publishes the active and waiting gauges of each, tagged with the bean
+     * name of the pool. The gauges are bound after all singletons exist, so every pool has been wrapped by then.
+     */
+    static class ConnectionLimitingPostProcessor implements BeanPostProcessor, MeterBinder {
+
+        private final Environment environment;
+        private final Map<String, ConnectionLimitingDataSource> limited = new ConcurrentHashMap<>();
+
+        ConnectionLimitingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            // Only connection pools are limited, not the routing wrappers in front of them (see ReadReplicaConfig)
+            if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource
+                    || bean instanceof AbstractRoutingDataSource) {
+                return bean;
+            }
+            int maxConcurrency = environment.getProperty("app.jdbc.max-concurrency", Integer.class, 0);
+            if (maxConcurrency <= 0 && dataSource instanceof HikariDataSource hikari) {
+                maxConcurrency = hikari.getMaximumPoolSize();
+            }
+            if (maxConcurrency <= 0) {
+                // Hikari's own default; an unconfigured pool reports -1 until it starts
+                maxConcurrency = 10;
+            }
+            Duration maxWait = environment.getProperty("app.jdbc.max-wait", Duration.class, Duration.ofSeconds(30));
+            log.info("Limiting data source '{}' to {} concurrent connections", beanName, maxConcurrency);
+            ConnectionLimitingDataSource wrapped = new ConnectionLimitingDataSource(dataSource, maxConcurrency, maxWait);
+            limited.put(beanName, wrapped);
+            return wrapped;
+        }
+
+        @Override
+        public void bindTo(MeterRegistry registry) {
+            limited.forEach((pool, dataSource) -> {
+                Gauge.builder("fakenews.jdbc.connections.active", dataSource, ConnectionLimitingDataSource::getActiveConnections)
+                        .description("Connections checked out through the concurrency limit")
+                        .tag("pool", pool)
+                        .register(registry);
+                Gauge.builder("fakenews.jdbc.connections.waiting", dataSource, ConnectionLimitingDataSource::getWaitingCallers)
+                        .description("Callers waiting for a connection permit")
+                        .tag("pool", pool)
+                        .register(registry);
+            });
+        }
+    }
+}
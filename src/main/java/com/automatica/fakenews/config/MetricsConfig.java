@@ -0,0 +1,68 @@
+package com.automatica.fakenews.config;
+
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.service.ReportIngestionService;
+import com.automatica.fakenews.service.ReportStatisticsService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// HTTP request, repository invocation and connection pool metrics come from Spring Boot's auto-configuration;
+// this adds the @Timed service timers and gauges for application state.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder reportMetrics(ReportStatisticsService statisticsService, ReportIngestionService ingestionService) {
+        return registry -> {
+            TotalsSnapshot totals = new TotalsSnapshot(statisticsService);
+            for (ReportStatus status : ReportStatus.values()) {
+                Gauge.builder("fakenews.reports", totals, snapshot -> snapshot.get(status))
+                        .description("Reports by moderation status")
+                        .tag("status", status.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+            Gauge.builder("fakenews.ingestion.queue.depth", ingestionService, ReportIngestionService::getQueueDepth)
+                    .description("Submissions waiting to be written when asynchronous ingestion is enabled")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Report totals shared by the per-status gauges, so that a scrape computes them once instead of once per
+     * status.
+     */
+    static final class TotalsSnapshot {
+
+        private static final long MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final ReportStatisticsService statisticsService;
+        private Map<ReportStatus, Long> totals;
+        private long takenAt;
+
+        TotalsSnapshot(ReportStatisticsService statisticsService) {
+            this.statisticsService = statisticsService;
+        }
+
+        synchronized long get(ReportStatus status) {
+            long now = System.nanoTime();
+            if (totals == null || now - takenAt > MAX_AGE_NANOS) {
+                totals = statisticsService.getTotals();
+                takenAt = now;
+            }
+            return totals.get(status);
+        }
+    }
+}
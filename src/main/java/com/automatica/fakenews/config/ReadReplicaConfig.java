@@ -0,0 +1,92 @@
+package com.automatica.fakenews.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.session.jdbc.config.annotation.SpringSessionDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Adds a read replica when {@code app.datasource.replica.url} is set: {@code spring.datasource} becomes the
+ * primary pool, {@code app.datasource.replica} a second pool, and the application data source routes
+ * read-only transactions to the replica through {@link ReplicaRoutingDataSource}. The replica's credentials
+ * default to the primary's, and its pool is tuned under {@code app.datasource.replica.hikari}.
+ * <p>
+ * Sessions bypass the routing and always use the primary pool: a session read from a lagging replica right
+ * after login would look logged out.
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    @SpringSessionDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:}") String username,
+                                              @Value("${app.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+        dataSource.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean("springSessionTransactionOperations")
+    public TransactionOperations springSessionTransactionOperations(@Qualifier("primaryDataSource") DataSource primary) {
+        return new TransactionTemplate(new DataSourceTransactionManager(primary));
+    }
+
+    // Spring Boot backs off from its own TransactionTemplate as soon as any TransactionOperations bean exists
+    @Bean
+    @Primary
+    public TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    @Bean
+    public ReadYourWritesWindow readYourWritesWindow(
+            @Value("${app.datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWritesWindow(window);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesWindow readYourWritesWindow) {
+        log.info("Routing read-only transactions to the read replica");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, readYourWritesWindow);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
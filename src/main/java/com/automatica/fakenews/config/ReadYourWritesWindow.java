@@ -0,0 +1,86 @@
+package com.automatica.fakenews.config;
+
+import com.automatica.fakenews.service.ReportChangedEvent;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps reads on the primary for a short while after writes, so that they are not answered by a replica that
+ * has not caught up yet:
+ * <ul>
+ *     <li>for a signed-in user after each of their committed writes, so a moderator sees their own decisions
+ *     and claims on the next page;</li>
+ *     <li>for everybody after a moderation or deletion on any instance, so the public feed caches evicted by
+ *     it are refilled with the new state rather than the replica's old one.</li>
+ * </ul>
+ * Anonymous writes (submissions) open no window; they do not change anything the public pages show.
+ */
+public class ReadYourWritesWindow {
+
+    private final long windowNanos;
+    private final Map<String, Long> userWindows = new ConcurrentHashMap<>();
+    private volatile long sharedWindowEnd = System.nanoTime();
+
+    public ReadYourWritesWindow(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Called for each read-write transaction; opens the current user's window once it commits.
+     */
+    void trackWrite() {
+        String user = currentUser();
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userWindows.put(user, System.nanoTime() + windowNanos);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        if (event.isModerated()) {
+            sharedWindowEnd = System.nanoTime() + windowNanos;
+        }
+    }
+
+    boolean isOpen() {
+        long now = System.nanoTime();
+        if (now - sharedWindowEnd < 0) {
+            return true;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long end = userWindows.get(user);
+        if (end == null) {
+            return false;
+        }
+        if (now - end < 0) {
+            return true;
+        }
+        userWindows.remove(user, end);
+        return false;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,59 @@
+package com.automatica.fakenews.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary. Read-only
+ * work also stays on the primary while a {@link ReadYourWritesWindow} is open, and inside {@link #onPrimary}
+ * for reads that must see a commit that just happened.
+ * <p>
+ * The transaction manager asks for a connection before the read-only flag of the transaction is visible, so
+ * this data source must be used behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * which defers the lookup to the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final ReadYourWritesWindow window;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesWindow window) {
+        this.window = window;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Runs {@code work} with every connection taken from the primary, for reads that follow a specific commit
+     * (e.g. loading the reports named in a change event) and cannot tolerate replication lag.
+     * Without a replica this simply runs {@code work}.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            window.trackWrite();
+            return PRIMARY;
+        }
+        return PRIMARY_REQUIRED.get() != null || window.isOpen() ? PRIMARY : REPLICA;
+    }
+}
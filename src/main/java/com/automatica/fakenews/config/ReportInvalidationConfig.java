@@ -0,0 +1,42 @@
+package com.automatica.fakenews.config;
+
+import com.automatica.fakenews.service.LoopbackReportInvalidationBus;
+import com.automatica.fakenews.service.PostgresReportInvalidationBus;
+import com.automatica.fakenews.service.ReportInvalidationBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+
+/**
+ * Chooses how instances tell each other about report changes: PostgreSQL LISTEN/NOTIFY when running on
+ * PostgreSQL, otherwise an in-process bus, since an embedded database cannot be shared by several instances.
+ */
+@Configuration
+public class ReportInvalidationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportInvalidationConfig.class);
+
+    @Bean
+    public ReportInvalidationBus reportInvalidationBus(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                                                       BackgroundThreads backgroundThreads,
+                                                       @Value("${app.cluster.reconnect-delay:PT5S}") Duration reconnectDelay) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return new LoopbackReportInvalidationBus();
+        }
+        log.info("Relaying report changes between instances over PostgreSQL LISTEN/NOTIFY");
+        // The listener holds its connection for good, so it gets one of its own rather than one from the pool
+        DriverManagerDataSource listenerConnections = new DriverManagerDataSource(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        return new PostgresReportInvalidationBus(jdbcTemplate, listenerConnections, backgroundThreads, reconnectDelay);
+    }
+}
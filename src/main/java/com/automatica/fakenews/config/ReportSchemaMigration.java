@@ -0,0 +1,111 @@
+package com.automatica.fakenews.config;
+
+import com.automatica.fakenews.repository.ReportArchiveRepository;
+import com.automatica.fakenews.service.UrlNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Backfills columns that Hibernate's {@code ddl-auto: update} adds to an existing fake_news_reports table and
+ * creates the report archive, which Hibernate does not manage.
+ * Every step only touches rows that still need it, so it is a no-op once a database has been migrated.
+ * Rows are updated in chunks, each in its own transaction, to keep lock times short on large tables.
+ * Runs once the schema exists but before the web server accepts requests.
+ */
+@Component
+public class ReportSchemaMigration implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportSchemaMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReportArchiveRepository archiveRepository;
+
+    @Value("${app.migration.chunk-size:5000}")
+    private int chunkSize;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill("approved status",
+                "UPDATE fake_news_reports SET status = 'APPROVED', processed_at = approved_at WHERE id IN " +
+                "(SELECT id FROM fake_news_reports WHERE status IS NULL AND approved = true FETCH FIRST ? ROWS ONLY)");
+        backfill("rejected status",
+                "UPDATE fake_news_reports SET status = 'REJECTED', processed_at = rejected_at WHERE id IN " +
+                "(SELECT id FROM fake_news_reports WHERE status IS NULL AND rejected_at IS NOT NULL FETCH FIRST ? ROWS ONLY)");
+        backfill("pending status",
+                "UPDATE fake_news_reports SET status = 'PENDING', processed_at = NULL WHERE id IN " +
+                "(SELECT id FROM fake_news_reports WHERE status IS NULL FETCH FIRST ? ROWS ONLY)");
+        backfillCanonicalUrlHashes();
+        alignIdSequence();
+        archiveRepository.createTableIfMissing();
+    }
+
+    private void backfillCanonicalUrlHashes() {
+        long total = 0;
+        List<Object[]> chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> {
+                List<Object[]> rows = jdbcTemplate.query(
+                        "SELECT id, url FROM fake_news_reports WHERE canonical_url_hash IS NULL " +
+                        "ORDER BY id FETCH FIRST ? ROWS ONLY",
+                        (rs, rowNum) -> new Object[] {UrlNormalizer.hash(rs.getString("url")), rs.getLong("id")},
+                        chunkSize);
+                jdbcTemplate.batchUpdate("UPDATE fake_news_reports SET canonical_url_hash = ? WHERE id = ?", rows);
+                return rows;
+            });
+            total += chunk.size();
+        } while (chunk.size() == chunkSize);
+
+        if (total > 0) {
+            log.info("Backfilled canonical URL hash for {} existing reports", total);
+        }
+    }
+
+    /**
+     * Ids used to come from an IDENTITY column. Move the new pooled sequence past the highest existing id,
+     * otherwise the first inserts after the upgrade would collide with old rows.
+     */
+    private void alignIdSequence() {
+        if (!isPostgres()) {
+            return;
+        }
+        jdbcTemplate.queryForObject(
+                "SELECT setval('fake_news_reports_seq', GREATEST(" +
+                "(SELECT COALESCE(MAX(id), 0) FROM fake_news_reports), " +
+                "(SELECT last_value FROM fake_news_reports_seq)))", Long.class);
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    private void backfill(String step, String chunkedUpdateSql) {
+        long total = 0;
+        int updated;
+        do {
+            Integer count = transactionTemplate.execute(status -> jdbcTemplate.update(chunkedUpdateSql, chunkSize));
+            updated = count != null ? count : 0;
+            total += updated;
+        } while (updated == chunkSize);
+
+        if (total > 0) {
+            log.info("Backfilled {} for {} existing reports", step, total);
+        }
+    }
+}
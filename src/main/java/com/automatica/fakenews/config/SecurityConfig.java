@@ -1,16 +1,22 @@
 package com.automatica.fakenews.config;
 
 import com.automatica.fakenews.service.CustomUserDetailsService;
+import com.automatica.fakenews.service.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 
 @Configuration
 @EnableWebSecurity
@@ -19,29 +25,46 @@ public class SecurityConfig {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private UserDetailsCache userCache;
+
+    // BCrypt cost factor; every step doubles the time of a login. Stored hashes are rehashed to it on login.
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new StrengthMatchingBCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/", "/report", "/reports", "/h2-console/**", "/css/**", "/js/**").permitAll()
-                .requestMatchers("/admin/**").hasRole("ADMIN")
+                .requestMatchers("/", "/report", "/reports", "/reports/*", "/events", "/error", "/h2-console/**", "/css/**", "/js/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/admin/**", "/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .formLogin(form -> form
                 .loginPage("/login")
                 .defaultSuccessUrl("/admin/dashboard", true)
+                .failureHandler(loginFailureHandler())
                 .permitAll()
             )
+            // Logins always land on the dashboard, so there is no point in saving the requested page in a session
+            .requestCache(cache -> cache
+                .requestCache(new NullRequestCache())
+            )
+            // Lets Prometheus scrape /actuator/prometheus with an admin account; browsers still get the login page
+            .httpBasic(Customizer.withDefaults())
             .logout(logout -> logout
                 .logoutSuccessUrl("/")
                 .permitAll()
             )
+            // The token lives in a cookie rather than the session, so that anonymous visitors never get a session
             .csrf(csrf -> csrf
+                .csrfTokenRepository(new CookieCsrfTokenRepository())
                 .ignoringRequestMatchers("/h2-console/**")
             )
             .headers(headers -> headers
@@ -51,13 +74,29 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private SimpleUrlAuthenticationFailureHandler loginFailureHandler() {
+        SimpleUrlAuthenticationFailureHandler handler = new SimpleUrlAuthenticationFailureHandler("/login?error");
+        handler.setAllowSessionCreation(false);
+        return handler;
+    }
+
+    // Exposed as a bean so that it also replaces the provider Spring Security would otherwise build for the
+    // form login and HTTP basic filters, which has no user cache
+    @Bean
+    public DaoAuthenticationProvider authenticationProvider() {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder());
+        provider.setUserCache(userCache);
+        return provider;
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
         AuthenticationManagerBuilder authenticationManagerBuilder = 
             http.getSharedObject(AuthenticationManagerBuilder.class);
-        authenticationManagerBuilder
-            .userDetailsService(userDetailsService)
-            .passwordEncoder(passwordEncoder());
+        authenticationManagerBuilder.authenticationProvider(authenticationProvider());
         return authenticationManagerBuilder.build();
     }
 }
@@ -0,0 +1,57 @@
+package com.automatica.fakenews.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.jackson2.SecurityJackson2Modules;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Converts session attributes to the bytes stored in the session table. The security context, which every
+ * authenticated session holds and every admin request reads, is written as JSON using Spring Security's
+ * Jackson modules; that is a fraction of the size of Java serialization and survives class changes. Other,
+ * short-lived attributes such as flash messages fall back to Java serialization. The two are told apart on
+ * read by the Java serialization stream magic.
+ */
+public class SessionAttributeSerializer implements Serializer<Object>, Deserializer<Object> {
+
+    private static final int JAVA_SERIALIZATION_MAGIC = 0xAC;
+
+    private final ObjectMapper objectMapper;
+    private final DefaultSerializer javaSerializer = new DefaultSerializer();
+    private final DefaultDeserializer javaDeserializer;
+
+    public SessionAttributeSerializer(ObjectMapper objectMapper, ClassLoader classLoader) {
+        this.objectMapper = objectMapper.copy()
+                .registerModules(SecurityJackson2Modules.getModules(classLoader));
+        this.javaDeserializer = new DefaultDeserializer(classLoader);
+    }
+
+    @Override
+    public void serialize(Object value, OutputStream out) throws IOException {
+        if (value instanceof SecurityContext) {
+            objectMapper.writeValue(out, value);
+        } else {
+            javaSerializer.serialize(value, out);
+        }
+    }
+
+    @Override
+    public Object deserialize(InputStream in) throws IOException {
+        InputStream buffered = in.markSupported() ? in : new BufferedInputStream(in);
+        buffered.mark(1);
+        int first = buffered.read();
+        buffered.reset();
+        if (first == JAVA_SERIALIZATION_MAGIC) {
+            return javaDeserializer.deserialize(buffered);
+        }
+        return objectMapper.readValue(buffered, Object.class);
+    }
+}
@@ -0,0 +1,27 @@
+package com.automatica.fakenews.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+// Sessions live in the SPRING_SESSION tables (spring.session.* in application.yml), so any instance can serve
+// any admin and a restart does not log anybody out.
+@Configuration
+public class SessionConfig {
+
+    /**
+     * Looked up by name by Spring Session to convert attribute values to and from their stored bytes.
+     */
+    @Bean("springSessionConversionService")
+    public ConversionService springSessionConversionService(ObjectMapper objectMapper) {
+        SessionAttributeSerializer serializer = new SessionAttributeSerializer(objectMapper, getClass().getClassLoader());
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, new SerializingConverter(serializer));
+        conversionService.addConverter(byte[].class, Object.class, new DeserializingConverter(serializer));
+        return conversionService;
+    }
+}
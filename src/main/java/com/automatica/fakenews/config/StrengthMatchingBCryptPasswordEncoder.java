@@ -0,0 +1,31 @@
+package com.automatica.fakenews.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that asks for a rehash whenever a stored hash was made with a different cost than the
+ * configured one, lower or higher. Spring's encoder only upgrades, so lowering the cost would never take effect.
+ */
+public class StrengthMatchingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_PREFIX = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    public StrengthMatchingBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PREFIX.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
@@ -1,53 +1,190 @@
 package com.automatica.fakenews.controller;
 
+import com.automatica.fakenews.dto.ReportCursor;
+import com.automatica.fakenews.dto.ReportFilter;
+import com.automatica.fakenews.dto.ReportPage;
+import com.automatica.fakenews.dto.ReportSummary;
 import com.automatica.fakenews.model.FakeNewsReport;
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.model.StatisticsDimension;
 import com.automatica.fakenews.service.FakeNewsReportService;
+import com.automatica.fakenews.service.ModerationConflictException;
+import com.automatica.fakenews.service.ModerationQueueService;
+import com.automatica.fakenews.service.ReportImportJob;
+import com.automatica.fakenews.service.ReportImportService;
+import com.automatica.fakenews.service.ReportSearchService;
+import com.automatica.fakenews.service.ReportStatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.IntSupplier;
 
 @Controller
 @RequestMapping("/admin")
 public class AdminController {
 
+    private static final int DASHBOARD_STATISTICS_ROWS = 20;
+
     @Autowired
     private FakeNewsReportService reportService;
 
+    @Autowired
+    private ReportSearchService searchService;
+
+    @Autowired
+    private ReportStatisticsService statisticsService;
+
+    @Autowired
+    private ReportImportService importService;
+
+    @Autowired
+    private ModerationQueueService queueService;
+
     @GetMapping("/dashboard")
-    public String dashboard(Model model) {
-        List<FakeNewsReport> pendingReports = reportService.getPendingReports();
-        List<FakeNewsReport> approvedReports = reportService.getApprovedReports();
-        List<FakeNewsReport> rejectedReports = reportService.getRejectedReports();
+    public String dashboard(@ModelAttribute("filter") ReportFilter filter,
+                            @RequestParam(required = false) Integer size,
+                            Authentication authentication,
+                            Model model) {
+        List<ReportSummary> claimed = queueService.getClaimed(authentication.getName());
+        model.addAttribute("claimedPage", new ReportPage<>(claimed, claimed.size(), null, null));
+        model.addAttribute("leaseMinutes", queueService.getLeaseDuration().toMinutes());
+
+        ReportPage<ReportSummary> pendingPage = reportService.getModerationPage(ReportStatus.PENDING, filter, null, size,
+                authentication.getName());
 
-        model.addAttribute("pendingReports", pendingReports);
-        model.addAttribute("approvedReports", approvedReports);
-        model.addAttribute("rejectedReports", rejectedReports);
+        model.addAttribute("pendingPage", pendingPage);
+        model.addAttribute("pendingNextUrl", nextPageUrl(ReportStatus.PENDING, filter, pendingPage, size));
+        model.addAttribute("pendingUrl", reportsUrl(ReportStatus.PENDING, filter, null, size));
+        model.addAttribute("approvedUrl", reportsUrl(ReportStatus.APPROVED, filter, null, size));
+        model.addAttribute("rejectedUrl", reportsUrl(ReportStatus.REJECTED, filter, null, size));
+        // The unfiltered counts come from the precomputed statistics instead of a scan of the reports table
+        model.addAttribute("counts", filter.isEmpty()
+                ? statisticsService.getTotals()
+                : reportService.countReportsByStatus(filter));
+        model.addAttribute("categoryStatistics",
+                statisticsService.getStatistics(StatisticsDimension.CATEGORY, DASHBOARD_STATISTICS_ROWS));
 
         return "admin/dashboard";
     }
 
+    /**
+     * One page of a dashboard section as an HTML fragment, loaded on demand by the dashboard.
+     */
+    @GetMapping("/reports/{section}")
+    public String reportsFragment(@PathVariable String section,
+                                  @ModelAttribute("filter") ReportFilter filter,
+                                  @RequestParam(required = false) String before,
+                                  @RequestParam(required = false) Integer size,
+                                  Authentication authentication,
+                                  Model model) {
+        ReportStatus status = parseStatus(section);
+        ReportPage<ReportSummary> page = reportService.getModerationPage(status, filter, ReportCursor.parse(before), size,
+                authentication.getName());
+
+        model.addAttribute("page", page);
+        model.addAttribute("status", status);
+        model.addAttribute("nextUrl", nextPageUrl(status, filter, page, size));
+
+        return "admin/report-list :: reports";
+    }
+
+    @GetMapping("/search")
+    public String search(@RequestParam(required = false) String q,
+                         @RequestParam(required = false) String category,
+                         @RequestParam(required = false) ReportStatus status,
+                         @RequestParam(defaultValue = "0") int page,
+                         @RequestParam(required = false) Integer size,
+                         Model model) {
+        boolean searched = (q != null && !q.isBlank()) || (category != null && !category.isBlank()) || status != null;
+        if (searched) {
+            model.addAttribute("results", searchService.search(q, category, status, page, size));
+        }
+        model.addAttribute("q", q);
+        model.addAttribute("category", category);
+        model.addAttribute("status", status);
+        return "admin/search";
+    }
+
+    @GetMapping("/report/{id}")
+    public String reportDetail(@PathVariable Long id, Model model) {
+        FakeNewsReport report = reportService.getReportById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        model.addAttribute("report", report);
+        return "admin/report-detail";
+    }
+
+    /**
+     * The moderation forms send back the status and version the report was shown with, so a decision taken
+     * on a stale page is refused instead of silently overwriting another moderator's.
+     */
     @PostMapping("/approve/{id}")
     public String approveReport(@PathVariable Long id,
+                                @RequestParam(required = false) ReportStatus expectedStatus,
+                                @RequestParam(required = false) Long version,
                                 Authentication authentication,
                                 RedirectAttributes redirectAttributes) {
         String username = authentication.getName();
-        reportService.approveReport(id, username);
-        redirectAttributes.addFlashAttribute("successMessage", "Report approved successfully!");
-        return "redirect:/admin/dashboard";
+        return moderate(redirectAttributes, "Report approved successfully!", () -> {
+            if (expectedStatus != null && version != null) {
+                reportService.approveReport(id, username, expectedStatus, version);
+            } else {
+                reportService.approveReport(id, username);
+            }
+        });
     }
 
     @PostMapping("/reject/{id}")
     public String rejectReport(@PathVariable Long id,
+                              @RequestParam(required = false) ReportStatus expectedStatus,
+                              @RequestParam(required = false) Long version,
                               Authentication authentication,
                               RedirectAttributes redirectAttributes) {
         String username = authentication.getName();
-        reportService.rejectReport(id, username);
-        redirectAttributes.addFlashAttribute("successMessage", "Report rejected successfully!");
+        return moderate(redirectAttributes, "Report rejected successfully!", () -> {
+            if (expectedStatus != null && version != null) {
+                reportService.rejectReport(id, username, expectedStatus, version);
+            } else {
+                reportService.rejectReport(id, username);
+            }
+        });
+    }
+
+    private String moderate(RedirectAttributes redirectAttributes, String successMessage, Runnable decision) {
+        try {
+            decision.run();
+            redirectAttributes.addFlashAttribute("successMessage", successMessage);
+        } catch (ModerationConflictException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/admin/dashboard";
+    }
+
+    @PostMapping("/queue/claim")
+    public String claimReports(@RequestParam(defaultValue = "10") int count,
+                               Authentication authentication,
+                               RedirectAttributes redirectAttributes) {
+        List<ReportSummary> claimed = queueService.claimNext(authentication.getName(), count);
+        redirectAttributes.addFlashAttribute(claimed.isEmpty() ? "errorMessage" : "successMessage",
+                claimed.isEmpty() ? "No unclaimed pending reports left." : "You now hold " + claimed.size() + " reports.");
+        return "redirect:/admin/dashboard";
+    }
+
+    @PostMapping("/queue/release")
+    public String releaseReports(Authentication authentication, RedirectAttributes redirectAttributes) {
+        int released = queueService.release(authentication.getName());
+        redirectAttributes.addFlashAttribute("successMessage", "Returned " + released + " reports to the queue.");
         return "redirect:/admin/dashboard";
     }
 
@@ -58,4 +195,114 @@ public class AdminController {
         redirectAttributes.addFlashAttribute("successMessage", "Report deleted successfully!");
         return "redirect:/admin/dashboard";
     }
+
+    @PostMapping("/bulk/approve")
+    public String bulkApprove(@RequestParam(required = false) List<Long> ids,
+                              @ModelAttribute ReportFilter filter,
+                              @RequestParam(defaultValue = "false") boolean matching,
+                              Authentication authentication,
+                              RedirectAttributes redirectAttributes) {
+        String username = authentication.getName();
+        return bulk(ids, filter, matching, redirectAttributes, "approved",
+                () -> reportService.approveReports(ids, username),
+                () -> reportService.approveMatching(filter, username));
+    }
+
+    @PostMapping("/bulk/reject")
+    public String bulkReject(@RequestParam(required = false) List<Long> ids,
+                             @ModelAttribute ReportFilter filter,
+                             @RequestParam(defaultValue = "false") boolean matching,
+                             Authentication authentication,
+                             RedirectAttributes redirectAttributes) {
+        String username = authentication.getName();
+        return bulk(ids, filter, matching, redirectAttributes, "rejected",
+                () -> reportService.rejectReports(ids, username),
+                () -> reportService.rejectMatching(filter, username));
+    }
+
+    @PostMapping("/bulk/delete")
+    public String bulkDelete(@RequestParam(required = false) List<Long> ids,
+                             @ModelAttribute ReportFilter filter,
+                             @RequestParam(defaultValue = "false") boolean matching,
+                             RedirectAttributes redirectAttributes) {
+        return bulk(ids, filter, matching, redirectAttributes, "deleted",
+                () -> reportService.deleteReports(ids),
+                () -> reportService.deleteMatching(filter));
+    }
+
+    @PostMapping("/import/upload")
+    public String uploadImport(@RequestParam("file") MultipartFile file,
+                               RedirectAttributes redirectAttributes) throws IOException {
+        if (file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Choose a CSV or NDJSON file to import.");
+            return "redirect:/admin/dashboard";
+        }
+        try (InputStream content = file.getInputStream()) {
+            ReportImportJob job = importService.startImport(file.getOriginalFilename(), null, content);
+            redirectAttributes.addFlashAttribute("successMessage",
+                    "Import of " + job.getFilename() + " started. Progress: /admin/import/" + job.getId());
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/admin/dashboard";
+    }
+
+    private static ReportStatus parseStatus(String name) {
+        for (ReportStatus status : ReportStatus.values()) {
+            if (status.name().equalsIgnoreCase(name)) {
+                return status;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+    }
+
+    private static String nextPageUrl(ReportStatus status, ReportFilter filter, ReportPage<?> page, Integer size) {
+        return page.hasNext() ? reportsUrl(status, filter, page.getNextCursor(), size) : null;
+    }
+
+    private static String reportsUrl(ReportStatus status, ReportFilter filter, ReportCursor before, Integer size) {
+        UriComponentsBuilder url = UriComponentsBuilder.fromPath("/admin/reports/")
+                .path(status.name().toLowerCase(Locale.ROOT));
+        if (filter.getCategoryOrNull() != null) {
+            url.queryParam("category", filter.getCategoryOrNull());
+        }
+        if (filter.getSourceOrNull() != null) {
+            url.queryParam("source", filter.getSourceOrNull());
+        }
+        if (filter.getFrom() != null) {
+            url.queryParam("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            url.queryParam("to", filter.getTo());
+        }
+        if (before != null) {
+            url.queryParam("before", before.toToken());
+        }
+        if (size != null) {
+            url.queryParam("size", size);
+        }
+        return url.encode().toUriString();
+    }
+
+    private String bulk(List<Long> ids, ReportFilter filter, boolean matching,
+                        RedirectAttributes redirectAttributes, String verb,
+                        IntSupplier byIds, IntSupplier byFilter) {
+        int affected;
+        if (matching) {
+            if (filter.isEmpty()) {
+                redirectAttributes.addFlashAttribute("errorMessage",
+                        "Choose at least one filter before applying an action to all matching reports.");
+                return "redirect:/admin/dashboard";
+            }
+            affected = byFilter.getAsInt();
+        } else {
+            if (ids == null || ids.isEmpty()) {
+                redirectAttributes.addFlashAttribute("errorMessage", "Select at least one report.");
+                return "redirect:/admin/dashboard";
+            }
+            affected = byIds.getAsInt();
+        }
+        redirectAttributes.addFlashAttribute("successMessage", affected + " report(s) " + verb + " successfully!");
+        return "redirect:/admin/dashboard";
+    }
 }
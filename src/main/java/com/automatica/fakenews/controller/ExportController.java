@@ -0,0 +1,81 @@
+package com.automatica.fakenews.controller;
+
+import com.automatica.fakenews.dto.ReportFilter;
+import com.automatica.fakenews.service.FakeNewsReportService;
+import com.automatica.fakenews.web.ReportExportFormat;
+import com.automatica.fakenews.web.ReportExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Downloads of the reports matching a filter, streamed straight from a database cursor into the response so
+ * that memory use stays flat however many rows are exported.
+ */
+@Controller
+public class ExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportController.class);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private FakeNewsReportService reportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @GetMapping("/admin/export")
+    public void export(@ModelAttribute ReportFilter filter,
+                       @RequestParam(defaultValue = "csv") String format,
+                       @RequestParam(defaultValue = "false") boolean gzip,
+                       HttpServletResponse response) throws IOException {
+        Optional<ReportExportFormat> exportFormat = ReportExportFormat.fromParameter(format);
+        if (exportFormat.isEmpty()) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unsupported export format: " + format);
+            return;
+        }
+        String filename = "reports-" + LocalDate.now() + "." + exportFormat.get().getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : exportFormat.get().getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+
+        OutputStream body = response.getOutputStream();
+        if (gzip) {
+            body = new GZIPOutputStream(body, GZIP_BUFFER_SIZE);
+        }
+        long rows;
+        try (ReportExportWriter writer = exportFormat.get().open(body, objectMapper)) {
+            rows = reportService.exportReports(filter, row -> {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Typically the client went away mid-download; the cursor has already been closed
+            throw e.getCause();
+        }
+        if (gzip) {
+            ((GZIPOutputStream) body).finish();
+        }
+        log.info("Exported {} reports as {}", rows, filename);
+    }
+}
@@ -1,38 +1,92 @@
 package com.automatica.fakenews.controller;
 
+import com.automatica.fakenews.dto.ReportCursor;
 import com.automatica.fakenews.dto.ReportForm;
+import com.automatica.fakenews.dto.ReportPage;
+import com.automatica.fakenews.dto.ReportSummary;
 import com.automatica.fakenews.model.FakeNewsReport;
 import com.automatica.fakenews.service.FakeNewsReportService;
+import com.automatica.fakenews.service.ReportIngestionService;
+import com.automatica.fakenews.service.SubmissionRejectedException;
+import com.automatica.fakenews.web.PublicPageRenderer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 @Controller
 public class HomeController {
 
+    private static final String SUBMITTED_MESSAGE = "Thank you! Your report has been submitted and is pending approval.";
+
     @Autowired
     private FakeNewsReportService reportService;
 
+    @Autowired
+    private ReportIngestionService ingestionService;
+
+    @Autowired
+    private PublicPageRenderer pageRenderer;
+
+    /**
+     * {@code submitted} is set by the redirect after a submission. It replaces a flash attribute, which would
+     * create a session for every anonymous reporter.
+     */
     @GetMapping("/")
-    public String home(Model model) {
-        List<FakeNewsReport> reports = reportService.getPublicReports();
-        model.addAttribute("reports", reports);
-        return "index";
+    public ResponseEntity<byte[]> home(@RequestParam(required = false) String before,
+                                       @RequestParam(required = false) String after,
+                                       @RequestParam(required = false) Integer size,
+                                       @RequestParam(required = false) String submitted,
+                                       HttpServletRequest request,
+                                       HttpServletResponse response) {
+        return pageRenderer.render("index", reportService.getPublicFeedVersion(), () -> {
+            Map<String, Object> model = feedModel(before, after, size);
+            if (submitted == null) {
+                return model;
+            }
+            Map<String, Object> withMessage = new HashMap<>(model);
+            withMessage.put("successMessage", SUBMITTED_MESSAGE);
+            return withMessage;
+        }, request, response);
     }
 
     @GetMapping("/reports")
-    public String reports(Model model) {
-        List<FakeNewsReport> reports = reportService.getPublicReports();
-        model.addAttribute("reports", reports);
-        return "reports";
+    public ResponseEntity<byte[]> reports(@RequestParam(required = false) String before,
+                                          @RequestParam(required = false) String after,
+                                          @RequestParam(required = false) Integer size,
+                                          HttpServletRequest request,
+                                          HttpServletResponse response) {
+        return pageRenderer.render("reports", reportService.getPublicFeedVersion(),
+                () -> feedModel(before, after, size), request, response);
+    }
+
+    private Map<String, Object> feedModel(String before, String after, Integer size) {
+        ReportPage<ReportSummary> page = reportService.getPublicReports(
+                ReportCursor.parse(before), ReportCursor.parse(after), size);
+        return Map.of("page", page, "reports", page.getItems());
+    }
+
+    @GetMapping("/reports/{id}")
+    public String reportDetail(@PathVariable Long id, Model model) {
+        FakeNewsReport report = reportService.getPublicReport(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        model.addAttribute("report", report);
+        return "report-detail";
     }
 
     @GetMapping("/report")
@@ -44,7 +98,7 @@ public class HomeController {
     @PostMapping("/report")
     public String submitReport(@Valid @ModelAttribute("reportForm") ReportForm reportForm,
                                BindingResult bindingResult,
-                               RedirectAttributes redirectAttributes,
+                               HttpServletResponse response,
                                Model model) {
         if (bindingResult.hasErrors()) {
             return "report-form";
@@ -56,11 +110,17 @@ public class HomeController {
         report.setCategory(reportForm.getCategory());
         report.setDescription(reportForm.getDescription());
 
-        reportService.saveReport(report);
-        redirectAttributes.addFlashAttribute("successMessage", 
-            "Thank you! Your report has been submitted and is pending approval.");
-        
-        return "redirect:/";
+        try {
+            ingestionService.submit(report);
+        } catch (SubmissionRejectedException e) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            model.addAttribute("errorMessage",
+                "We are receiving an unusually high number of reports. Please try again in a few seconds.");
+            return "report-form";
+        }
+
+        return "redirect:/?submitted";
     }
 
     @GetMapping("/login")
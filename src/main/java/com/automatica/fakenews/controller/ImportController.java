@@ -0,0 +1,56 @@
+package com.automatica.fakenews.controller;
+
+import com.automatica.fakenews.service.ReportImportJob;
+import com.automatica.fakenews.service.ReportImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Bulk import of report files as JSON: start an import and follow its progress.
+ */
+@RestController
+@RequestMapping("/admin/import")
+public class ImportController {
+
+    @Autowired
+    private ReportImportService importService;
+
+    /**
+     * Accepts a CSV or NDJSON file (optionally gzip-compressed) and answers {@code 202 Accepted} with the job,
+     * whose progress is available at the {@code Location} URL.
+     */
+    @PostMapping
+    public ResponseEntity<ReportImportJob> startImport(@RequestParam("file") MultipartFile file,
+                                                       @RequestParam(required = false) String format) throws IOException {
+        if (file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The uploaded file is empty");
+        }
+        ReportImportJob job;
+        try (InputStream content = file.getInputStream()) {
+            job = importService.startImport(file.getOriginalFilename(), format, content);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return ResponseEntity.accepted().location(URI.create("/admin/import/" + job.getId())).body(job);
+    }
+
+    @GetMapping
+    public List<ReportImportJob> jobs() {
+        return importService.getJobs();
+    }
+
+    @GetMapping("/{id}")
+    public ReportImportJob job(@PathVariable String id) {
+        return importService.getJob(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No import with id " + id));
+    }
+}
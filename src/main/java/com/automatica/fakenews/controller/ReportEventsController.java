@@ -0,0 +1,30 @@
+package com.automatica.fakenews.controller;
+
+import com.automatica.fakenews.web.ReportEventBroadcaster;
+import com.automatica.fakenews.web.ReportEventBroadcaster.Channel;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event streams of report changes for the public pages and the admin dashboard.
+ */
+@RestController
+public class ReportEventsController {
+
+    @Autowired
+    private ReportEventBroadcaster broadcaster;
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter publicEvents(HttpServletRequest request) {
+        return broadcaster.subscribe(Channel.PUBLIC, request.getRemoteAddr());
+    }
+
+    @GetMapping(value = "/admin/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter adminEvents(HttpServletRequest request) {
+        return broadcaster.subscribe(Channel.ADMIN, request.getRemoteAddr());
+    }
+}
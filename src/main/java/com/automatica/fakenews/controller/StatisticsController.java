@@ -0,0 +1,43 @@
+package com.automatica.fakenews.controller;
+
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.model.StatisticsDimension;
+import com.automatica.fakenews.service.ReportStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Moderation statistics as JSON, served from the precomputed counters.
+ */
+@RestController
+@RequestMapping("/admin/stats")
+public class StatisticsController {
+
+    private static final int MAX_ROWS = 1000;
+
+    @Autowired
+    private ReportStatisticsService statisticsService;
+
+    @GetMapping
+    public Map<String, Object> statistics(@RequestParam(defaultValue = "100") int limit) {
+        int rows = Math.max(1, Math.min(limit, MAX_ROWS));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("totals", statisticsService.getTotals());
+        body.put("byCategory", statisticsService.getStatistics(StatisticsDimension.CATEGORY, rows));
+        body.put("bySource", statisticsService.getStatistics(StatisticsDimension.SOURCE, rows));
+        body.put("byDay", statisticsService.getStatistics(StatisticsDimension.DAY, rows));
+        return body;
+    }
+
+    /**
+     * Recomputes the statistics from the reports table instead of waiting for the nightly reconciliation.
+     */
+    @PostMapping("/reconcile")
+    public Map<ReportStatus, Long> reconcile() {
+        statisticsService.reconcile();
+        return statisticsService.getTotals();
+    }
+}
@@ -0,0 +1,40 @@
+package com.automatica.fakenews.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Cheap fingerprint of the public feed: the latest decision time plus the number of decided reports.
+ * Any approve, reject or delete changes at least one of the two.
+ */
+public class FeedVersion {
+
+    private final LocalDateTime lastProcessedAt;
+    private final long processedCount;
+
+    public FeedVersion(LocalDateTime lastProcessedAt, Long processedCount) {
+        this.lastProcessedAt = lastProcessedAt;
+        this.processedCount = processedCount != null ? processedCount : 0;
+    }
+
+    public LocalDateTime getLastProcessedAt() {
+        return lastProcessedAt;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    /**
+     * Epoch millis of the latest decision, or -1 when nothing has been decided yet.
+     */
+    public long getLastModifiedMillis() {
+        return lastProcessedAt != null
+                ? lastProcessedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+    }
+
+    public String toETag() {
+        return "\"feed-" + Math.max(getLastModifiedMillis(), 0) + "-" + processedCount + "\"";
+    }
+}
@@ -0,0 +1,67 @@
+package com.automatica.fakenews.dto;
+
+import com.automatica.fakenews.model.ReportStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of a live update on the public channel. Carries only what the public feed shows, unlike
+ * {@link ReportSummary}, which also holds the moderator names and the moderation state.
+ */
+public class PublicReportEvent {
+
+    private final Long id;
+    private final String source;
+    private final String url;
+    private final String category;
+    private final ReportStatus status;
+    private final LocalDateTime reportedAt;
+    private final LocalDateTime processedAt;
+    private final String excerpt;
+
+    public PublicReportEvent(ReportSummary report) {
+        this.id = report.getId();
+        this.source = report.getNewsSource();
+        this.url = report.getUrl();
+        this.category = report.getCategory();
+        this.status = report.getStatus();
+        this.reportedAt = report.getReportedAt();
+        this.processedAt = report.getProcessedAt();
+        this.excerpt = report.getDescriptionExcerpt();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getReportedAt() {
+        return reportedAt;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    /**
+     * Beginning of the description, ending in "…" when it was cut off.
+     */
+    public String getExcerpt() {
+        return excerpt;
+    }
+}
@@ -0,0 +1,77 @@
+package com.automatica.fakenews.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+/**
+ * Keyset position in a report listing: the sort timestamp of a report plus its id as tie-breaker.
+ * Serialized into links as {@code <timestamp>_<id>}.
+ */
+public class ReportCursor {
+
+    private static final char SEPARATOR = '_';
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public ReportCursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = Objects.requireNonNull(timestamp, "timestamp");
+        this.id = Objects.requireNonNull(id, "id");
+    }
+
+    /**
+     * Parses a token produced by {@link #toToken()}. Returns {@code null} for blank or malformed
+     * tokens so that a tampered link simply falls back to the first page.
+     */
+    public static ReportCursor parse(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        int separator = token.lastIndexOf(SEPARATOR);
+        if (separator <= 0 || separator == token.length() - 1) {
+            return null;
+        }
+        try {
+            LocalDateTime timestamp = LocalDateTime.parse(token.substring(0, separator));
+            Long id = Long.valueOf(token.substring(separator + 1));
+            return new ReportCursor(timestamp, id);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public String toToken() {
+        return timestamp.toString() + SEPARATOR + id;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReportCursor)) {
+            return false;
+        }
+        ReportCursor that = (ReportCursor) o;
+        return timestamp.equals(that.timestamp) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(timestamp, id);
+    }
+
+    @Override
+    public String toString() {
+        return toToken();
+    }
+}
@@ -0,0 +1,92 @@
+package com.automatica.fakenews.dto;
+
+import com.automatica.fakenews.model.ReportStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One report as written by the export endpoints. A plain projection rather than an entity, so streaming
+ * millions of rows never accumulates managed objects in the persistence context.
+ */
+public class ReportExportRow {
+
+    private final Long id;
+    private final String newsSource;
+    private final String url;
+    private final String category;
+    private final String description;
+    private final ReportStatus status;
+    private final LocalDateTime reportedAt;
+    private final LocalDateTime processedAt;
+    private final String approvedBy;
+    private final String rejectedBy;
+    private final int duplicateCount;
+
+    public ReportExportRow(Long id,
+                           String newsSource,
+                           String url,
+                           String category,
+                           String description,
+                           ReportStatus status,
+                           LocalDateTime reportedAt,
+                           LocalDateTime processedAt,
+                           String approvedBy,
+                           String rejectedBy,
+                           int duplicateCount) {
+        this.id = id;
+        this.newsSource = newsSource;
+        this.url = url;
+        this.category = category;
+        this.description = description;
+        this.status = status;
+        this.reportedAt = reportedAt;
+        this.processedAt = processedAt;
+        this.approvedBy = approvedBy;
+        this.rejectedBy = rejectedBy;
+        this.duplicateCount = duplicateCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNewsSource() {
+        return newsSource;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getReportedAt() {
+        return reportedAt;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public String getApprovedBy() {
+        return approvedBy;
+    }
+
+    public String getRejectedBy() {
+        return rejectedBy;
+    }
+
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+}
@@ -0,0 +1,90 @@
+package com.automatica.fakenews.dto;
+
+import com.automatica.fakenews.model.ReportStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Optional criteria for selecting reports; every field left empty matches all reports.
+ * The date range applies to the submission date and is inclusive on both ends.
+ */
+public class ReportFilter {
+
+    private String category;
+
+    private String source;
+
+    private ReportStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReportStatus status) {
+        this.status = status;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public String getCategoryOrNull() {
+        return blankToNull(category);
+    }
+
+    public String getSourceOrNull() {
+        return blankToNull(source);
+    }
+
+    public LocalDateTime getReportedFrom() {
+        return from != null ? from.atStartOfDay() : null;
+    }
+
+    public LocalDateTime getReportedUntil() {
+        return to != null ? to.plusDays(1).atStartOfDay() : null;
+    }
+
+    public boolean isEmpty() {
+        return getCategoryOrNull() == null && getSourceOrNull() == null && status == null && from == null && to == null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,49 @@
+package com.automatica.fakenews.dto;
+
+import java.util.List;
+
+/**
+ * One keyset-paginated slice of reports together with the cursors of its neighbouring slices.
+ */
+public class ReportPage<T> {
+
+    private final List<T> items;
+    private final int size;
+    private final ReportCursor previousCursor;
+    private final ReportCursor nextCursor;
+
+    public ReportPage(List<T> items, int size, ReportCursor previousCursor, ReportCursor nextCursor) {
+        this.items = List.copyOf(items);
+        this.size = size;
+        this.previousCursor = previousCursor;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public ReportCursor getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public ReportCursor getNextCursor() {
+        return nextCursor;
+    }
+}
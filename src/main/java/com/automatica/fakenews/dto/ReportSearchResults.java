@@ -0,0 +1,74 @@
+package com.automatica.fakenews.dto;
+
+import java.util.List;
+
+/**
+ * One page of search hits in rank order.
+ */
+public class ReportSearchResults {
+
+    private final List<ReportSummary> items;
+    private final int page;
+    private final int size;
+    private final long totalHits;
+    private final boolean totalExact;
+    private final boolean indexComplete;
+    private final int maxResults;
+
+    /**
+     * {@code maxResults} is the number of hits that can be paged through at all; pages beyond it are empty.
+     */
+    public ReportSearchResults(List<ReportSummary> items, int page, int size,
+                               long totalHits, boolean totalExact, boolean indexComplete, int maxResults) {
+        this.items = List.copyOf(items);
+        this.page = page;
+        this.size = size;
+        this.totalHits = totalHits;
+        this.totalExact = totalExact;
+        this.indexComplete = indexComplete;
+        this.maxResults = maxResults;
+    }
+
+    public List<ReportSummary> getItems() {
+        return items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    /**
+     * False when {@link #getTotalHits()} is only a lower bound.
+     */
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    /**
+     * False while the index is still being rebuilt after startup, in which case results may be incomplete.
+     */
+    public boolean isIndexComplete() {
+        return indexComplete;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public boolean hasPrevious() {
+        return page > 0;
+    }
+
+    public boolean hasNext() {
+        long nextOffset = ((long) page + 1) * size;
+        return nextOffset < totalHits && nextOffset < maxResults;
+    }
+}
@@ -0,0 +1,52 @@
+package com.automatica.fakenews.dto;
+
+import com.automatica.fakenews.model.ReportStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a report that its statistics depend on, plus the version for optimistic moderation.
+ */
+public class ReportStatisticsKey {
+
+    private final Long id;
+    private final String category;
+    private final String newsSource;
+    private final LocalDateTime reportedAt;
+    private final ReportStatus status;
+    private final Long version;
+
+    public ReportStatisticsKey(Long id, String category, String newsSource, LocalDateTime reportedAt,
+                               ReportStatus status, Long version) {
+        this.id = id;
+        this.category = category;
+        this.newsSource = newsSource;
+        this.reportedAt = reportedAt;
+        this.status = status;
+        this.version = version;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getNewsSource() {
+        return newsSource;
+    }
+
+    public LocalDateTime getReportedAt() {
+        return reportedAt;
+    }
+
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
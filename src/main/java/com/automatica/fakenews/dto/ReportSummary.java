@@ -0,0 +1,126 @@
+package com.automatica.fakenews.dto;
+
+import com.automatica.fakenews.model.ReportStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a report for list pages. Built directly by JPQL constructor expressions, so listings
+ * never hydrate managed entities, and carries only the beginning of the description.
+ */
+public class ReportSummary {
+
+    public static final int EXCERPT_LENGTH = 300;
+
+    /**
+     * Number of description characters fetched by the list queries; one more than the excerpt length so that
+     * a cut-off description can be told apart from one that is exactly {@link #EXCERPT_LENGTH} long.
+     */
+    public static final int EXCERPT_FETCH_LENGTH = EXCERPT_LENGTH + 1;
+
+    private final Long id;
+    private final String newsSource;
+    private final String url;
+    private final String category;
+    private final ReportStatus status;
+    private final LocalDateTime reportedAt;
+    private final LocalDateTime processedAt;
+    private final String approvedBy;
+    private final String rejectedBy;
+    private final int duplicateCount;
+    private final long version;
+    private final String descriptionExcerpt;
+    private final boolean descriptionTruncated;
+
+    public ReportSummary(Long id, String newsSource, String url, String category, ReportStatus status,
+                         LocalDateTime reportedAt, LocalDateTime processedAt, String approvedBy, String rejectedBy,
+                         int duplicateCount, String description) {
+        this(id, newsSource, url, category, status, reportedAt, processedAt, approvedBy, rejectedBy, duplicateCount, 0,
+                description);
+    }
+
+    public ReportSummary(Long id, String newsSource, String url, String category, ReportStatus status,
+                         LocalDateTime reportedAt, LocalDateTime processedAt, String approvedBy, String rejectedBy,
+                         int duplicateCount, long version, String description) {
+        this.id = id;
+        this.newsSource = newsSource;
+        this.url = url;
+        this.category = category;
+        this.status = status;
+        this.reportedAt = reportedAt;
+        this.processedAt = processedAt;
+        this.approvedBy = approvedBy;
+        this.rejectedBy = rejectedBy;
+        this.duplicateCount = duplicateCount;
+        this.version = version;
+        this.descriptionTruncated = description != null && description.length() > EXCERPT_LENGTH;
+        this.descriptionExcerpt = descriptionTruncated ? description.substring(0, EXCERPT_LENGTH) + "…" : description;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNewsSource() {
+        return newsSource;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getReportedAt() {
+        return reportedAt;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public String getApprovedBy() {
+        return approvedBy;
+    }
+
+    public String getRejectedBy() {
+        return rejectedBy;
+    }
+
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    /**
+     * Version the report was read at; moderation forms send it back so a stale decision can be refused.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public String getDescriptionExcerpt() {
+        return descriptionExcerpt;
+    }
+
+    public boolean isDescriptionTruncated() {
+        return descriptionTruncated;
+    }
+
+    public boolean isApproved() {
+        return status == ReportStatus.APPROVED;
+    }
+
+    public boolean isRejected() {
+        return status == ReportStatus.REJECTED;
+    }
+
+    public boolean isPending() {
+        return status == ReportStatus.PENDING;
+    }
+}
@@ -0,0 +1,46 @@
+package com.automatica.fakenews.dto;
+
+import com.automatica.fakenews.model.ReportStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Report counts by status for one category, source or submission day.
+ */
+public class StatisticsRow {
+
+    private final String value;
+    private final Map<ReportStatus, Long> counts = new EnumMap<>(ReportStatus.class);
+
+    public StatisticsRow(String value) {
+        this.value = value;
+        for (ReportStatus status : ReportStatus.values()) {
+            counts.put(status, 0L);
+        }
+    }
+
+    public void add(ReportStatus status, long count) {
+        counts.merge(status, count, Long::sum);
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public long getPending() {
+        return counts.get(ReportStatus.PENDING);
+    }
+
+    public long getApproved() {
+        return counts.get(ReportStatus.APPROVED);
+    }
+
+    public long getRejected() {
+        return counts.get(ReportStatus.REJECTED);
+    }
+
+    public long getTotal() {
+        return getPending() + getApproved() + getRejected();
+    }
+}
@@ -2,14 +2,23 @@ package com.automatica.fakenews.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "fake_news_reports")
+@Table(name = "fake_news_reports", indexes = {
+        @Index(name = "idx_reports_status_processed_at", columnList = "status, processed_at DESC, id DESC"),
+        @Index(name = "idx_reports_status_reported_at", columnList = "status, reported_at DESC, id DESC"),
+        @Index(name = "idx_reports_processed_at", columnList = "processed_at DESC, id DESC"),
+        @Index(name = "idx_reports_canonical_url_hash", columnList = "canonical_url_hash"),
+        @Index(name = "idx_reports_claimed_by", columnList = "claimed_by, claim_expires_at")
+})
 public class FakeNewsReport {
 
+    // Pooled sequence instead of IDENTITY so that Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fake_news_reports_seq")
+    @SequenceGenerator(name = "fake_news_reports_seq", sequenceName = "fake_news_reports_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "News source is required")
@@ -45,6 +54,40 @@ public class FakeNewsReport {
     @Column
     private String rejectedBy;
 
+    // Denormalized from approved/approvedAt/rejectedAt so that listings can be served by plain index range scans
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ReportStatus status = ReportStatus.PENDING;
+
+    @Column
+    private LocalDateTime processedAt;
+
+    // SHA-256 of the normalized URL, used to fold repeated submissions of the same article into one report
+    @Column(length = 64)
+    private String canonicalUrlHash;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int duplicateCount = 0;
+
+    // Work-queue lease: the moderator who claimed this pending report and until when. An expired lease no
+    // longer counts, so the report can be claimed again.
+    @Column(length = 50)
+    private String claimedBy;
+
+    @Column
+    private LocalDateTime claimExpiresAt;
+
+    // Bumped by every moderation statement so that a decision taken on a stale view of the report is refused
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    // Set only on copies read back from the archive, which are never written through JPA
+    @Transient
+    private LocalDateTime archivedAt;
+
     public FakeNewsReport() {
         this.reportedAt = LocalDateTime.now();
     }
@@ -137,11 +180,98 @@ public class FakeNewsReport {
         this.rejectedBy = rejectedBy;
     }
 
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReportStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+
+    public String getCanonicalUrlHash() {
+        return canonicalUrlHash;
+    }
+
+    public void setCanonicalUrlHash(String canonicalUrlHash) {
+        this.canonicalUrlHash = canonicalUrlHash;
+    }
+
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    public void setDuplicateCount(int duplicateCount) {
+        this.duplicateCount = duplicateCount;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public LocalDateTime getClaimExpiresAt() {
+        return claimExpiresAt;
+    }
+
+    public void setClaimExpiresAt(LocalDateTime claimExpiresAt) {
+        this.claimExpiresAt = claimExpiresAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    public boolean isArchived() {
+        return archivedAt != null;
+    }
+
+    public void markApproved(String approvedBy, LocalDateTime approvedAt) {
+        this.approved = true;
+        this.approvedAt = approvedAt;
+        this.approvedBy = approvedBy;
+        // Clear rejection fields if previously rejected
+        this.rejectedAt = null;
+        this.rejectedBy = null;
+        this.status = ReportStatus.APPROVED;
+        this.processedAt = approvedAt;
+    }
+
+    public void markRejected(String rejectedBy, LocalDateTime rejectedAt) {
+        this.approved = false;
+        this.rejectedAt = rejectedAt;
+        this.rejectedBy = rejectedBy;
+        this.status = ReportStatus.REJECTED;
+        this.processedAt = rejectedAt;
+    }
+
     public boolean isRejected() {
-        return !approved && rejectedAt != null;
+        return status == ReportStatus.REJECTED;
     }
 
     public boolean isPending() {
-        return !approved && rejectedAt == null;
+        return status == ReportStatus.PENDING;
     }
 }
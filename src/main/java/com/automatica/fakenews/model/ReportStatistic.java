@@ -0,0 +1,45 @@
+package com.automatica.fakenews.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Precomputed number of reports with one status for one category, source or submission day.
+ */
+@Entity
+@Table(name = "report_statistics")
+public class ReportStatistic implements Persistable<ReportStatisticId> {
+
+    @EmbeddedId
+    private ReportStatisticId id;
+
+    @Column(nullable = false)
+    private long reportCount;
+
+    // Rows are only ever created with a fresh key, so save() can insert without a SELECT first
+    @Transient
+    private boolean newRow;
+
+    protected ReportStatistic() {
+    }
+
+    public ReportStatistic(ReportStatisticId id, long reportCount) {
+        this.id = id;
+        this.reportCount = reportCount;
+        this.newRow = true;
+    }
+
+    @Override
+    public ReportStatisticId getId() {
+        return id;
+    }
+
+    public long getReportCount() {
+        return reportCount;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+}
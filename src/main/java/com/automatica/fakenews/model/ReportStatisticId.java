@@ -0,0 +1,58 @@
+package com.automatica.fakenews.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class ReportStatisticId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private StatisticsDimension dimension;
+
+    @Column(nullable = false)
+    private String dimensionValue;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private ReportStatus status;
+
+    protected ReportStatisticId() {
+    }
+
+    public ReportStatisticId(StatisticsDimension dimension, String dimensionValue, ReportStatus status) {
+        this.dimension = dimension;
+        this.dimensionValue = dimensionValue;
+        this.status = status;
+    }
+
+    public StatisticsDimension getDimension() {
+        return dimension;
+    }
+
+    public String getDimensionValue() {
+        return dimensionValue;
+    }
+
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReportStatisticId other)) {
+            return false;
+        }
+        return dimension == other.dimension && dimensionValue.equals(other.dimensionValue) && status == other.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dimension, dimensionValue, status);
+    }
+}
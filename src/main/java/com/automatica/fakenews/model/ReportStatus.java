@@ -0,0 +1,7 @@
+package com.automatica.fakenews.model;
+
+public enum ReportStatus {
+    PENDING,
+    APPROVED,
+    REJECTED
+}
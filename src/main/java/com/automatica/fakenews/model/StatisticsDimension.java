@@ -0,0 +1,10 @@
+package com.automatica.fakenews.model;
+
+/**
+ * What a row of {@link ReportStatistic} counts reports by. Days are submission days in ISO format.
+ */
+public enum StatisticsDimension {
+    CATEGORY,
+    SOURCE,
+    DAY
+}
@@ -0,0 +1,38 @@
+package com.automatica.fakenews.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The single row recording when {@link ReportStatistic}s were last recomputed from the reports, in database
+ * time, so that every instance can drop the unflushed changes that the recount already included.
+ */
+@Entity
+@Table(name = "report_statistics_reconciliation")
+public class StatisticsReconciliation {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private LocalDateTime reconciledAt;
+
+    protected StatisticsReconciliation() {
+    }
+
+    public StatisticsReconciliation(LocalDateTime reconciledAt) {
+        this.id = ID;
+        this.reconciledAt = reconciledAt;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+}
@@ -0,0 +1,60 @@
+package com.automatica.fakenews.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * PostgreSQL advisory locks that coordinate scheduled jobs across instances sharing one database. All locks
+ * are held until the current transaction ends. Other databases are only used by a single instance, so the
+ * locks always succeed there without doing anything.
+ */
+@Repository
+public class AdvisoryLockRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Takes the exclusive lock {@code key} if nobody holds it. Returns {@code false} without waiting otherwise.
+     */
+    public boolean tryLock(long key) {
+        if (!isPostgres()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, key));
+    }
+
+    /**
+     * Takes the exclusive lock {@code key}, waiting for its current holders.
+     */
+    public void lock(long key) {
+        if (isPostgres()) {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", (RowCallbackHandler) row -> { }, key);
+        }
+    }
+
+    /**
+     * Takes the lock {@code key} in shared mode, waiting only while someone holds it exclusively.
+     */
+    public void lockShared(long key) {
+        if (isPostgres()) {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock_shared(?)", (RowCallbackHandler) row -> { }, key);
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equals(product);
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -1,23 +1,299 @@
 package com.automatica.fakenews.repository;
 
+import com.automatica.fakenews.dto.FeedVersion;
+import com.automatica.fakenews.dto.ReportExportRow;
+import com.automatica.fakenews.dto.ReportStatisticsKey;
+import com.automatica.fakenews.dto.ReportSummary;
 import com.automatica.fakenews.model.FakeNewsReport;
+import com.automatica.fakenews.model.ReportStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FakeNewsReportRepository extends JpaRepository<FakeNewsReport, Long> {
-    
-    List<FakeNewsReport> findByApprovedTrueOrderByApprovedAtDesc();
 
-    List<FakeNewsReport> findByApprovedFalseAndRejectedAtIsNullOrderByReportedAtDesc();
+    int EXPORT_FETCH_SIZE = 1000;
 
-    List<FakeNewsReport> findByRejectedAtIsNotNullOrderByRejectedAtDesc();
+    /**
+     * Optional category/source/submission date criteria; each parameter that is null matches every report.
+     */
+    String MATCHES_FILTER = "(:category IS NULL OR r.category = :category) " +
+            "AND (:source IS NULL OR r.newsSource = :source) " +
+            "AND (:reportedFrom IS NULL OR r.reportedAt >= :reportedFrom) " +
+            "AND (:reportedUntil IS NULL OR r.reportedAt < :reportedUntil)";
 
-    @Query("SELECT r FROM FakeNewsReport r WHERE r.approved = true OR r.rejectedAt IS NOT NULL ORDER BY CASE WHEN r.approved = true THEN r.approvedAt ELSE r.rejectedAt END DESC")
-    List<FakeNewsReport> findApprovedAndRejectedReportsOrderByProcessedAtDesc();
+    /**
+     * Matches reports nobody but {@code :moderator} holds a live lease on.
+     */
+    String NOT_LEASED_BY_OTHERS = "(r.claimedBy IS NULL OR r.claimedBy = :moderator OR r.claimExpiresAt < :now)";
 
-    List<FakeNewsReport> findAllByOrderByReportedAtDesc();
+    /**
+     * Projection used by every list view; only the first characters of the description leave the database.
+     */
+    String SELECT_SUMMARY = "SELECT new com.automatica.fakenews.dto.ReportSummary(r.id, r.newsSource, r.url, " +
+            "r.category, r.status, r.reportedAt, r.processedAt, r.approvedBy, r.rejectedBy, r.duplicateCount, " +
+            "r.version, SUBSTRING(r.description, 1, " + ReportSummary.EXCERPT_FETCH_LENGTH + ")) FROM FakeNewsReport r ";
+
+    @Query(SELECT_SUMMARY + "WHERE r.status = :status ORDER BY r.reportedAt DESC, r.id DESC")
+    List<ReportSummary> findByStatusOrderByReportedAtDescIdDesc(@Param("status") ReportStatus status);
+
+    @Query(SELECT_SUMMARY + "WHERE r.processedAt IS NOT NULL ORDER BY r.processedAt DESC, r.id DESC")
+    List<ReportSummary> findProcessedReportsNewestFirst(Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "WHERE r.processedAt < :processedAt " +
+           "OR (r.processedAt = :processedAt AND r.id < :id) ORDER BY r.processedAt DESC, r.id DESC")
+    List<ReportSummary> findProcessedReportsBefore(@Param("processedAt") LocalDateTime processedAt,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "WHERE r.processedAt > :processedAt " +
+           "OR (r.processedAt = :processedAt AND r.id > :id) ORDER BY r.processedAt ASC, r.id ASC")
+    List<ReportSummary> findProcessedReportsAfter(@Param("processedAt") LocalDateTime processedAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
+    /**
+     * Newest reports in {@code status} matching the filter, leaving out those another moderator holds a live
+     * lease on so that the shared list does not offer work somebody is already doing.
+     */
+    @Query(SELECT_SUMMARY + "WHERE r.status = :status AND " + MATCHES_FILTER + " AND " + NOT_LEASED_BY_OTHERS +
+           " ORDER BY r.reportedAt DESC, r.id DESC")
+    List<ReportSummary> findByStatusMatchingNewestReportedFirst(@Param("status") ReportStatus status,
+                                                                 @Param("category") String category,
+                                                                 @Param("source") String source,
+                                                                 @Param("reportedFrom") LocalDateTime reportedFrom,
+                                                                 @Param("reportedUntil") LocalDateTime reportedUntil,
+                                                                 @Param("moderator") String moderator,
+                                                                 @Param("now") LocalDateTime now,
+                                                                 Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "WHERE r.status = :status AND " + MATCHES_FILTER + " AND " + NOT_LEASED_BY_OTHERS +
+           " AND (r.reportedAt < :reportedAt OR (r.reportedAt = :reportedAt AND r.id < :id))" +
+           " ORDER BY r.reportedAt DESC, r.id DESC")
+    List<ReportSummary> findByStatusMatchingReportedBefore(@Param("status") ReportStatus status,
+                                                            @Param("category") String category,
+                                                            @Param("source") String source,
+                                                            @Param("reportedFrom") LocalDateTime reportedFrom,
+                                                            @Param("reportedUntil") LocalDateTime reportedUntil,
+                                                            @Param("moderator") String moderator,
+                                                            @Param("now") LocalDateTime now,
+                                                            @Param("reportedAt") LocalDateTime reportedAt,
+                                                            @Param("id") Long id,
+                                                            Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "WHERE r.status = :status AND " + MATCHES_FILTER +
+           " ORDER BY r.processedAt DESC, r.id DESC")
+    List<ReportSummary> findByStatusMatchingNewestProcessedFirst(@Param("status") ReportStatus status,
+                                                                  @Param("category") String category,
+                                                                  @Param("source") String source,
+                                                                  @Param("reportedFrom") LocalDateTime reportedFrom,
+                                                                  @Param("reportedUntil") LocalDateTime reportedUntil,
+                                                                  Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "WHERE r.status = :status AND " + MATCHES_FILTER +
+           " AND (r.processedAt < :processedAt OR (r.processedAt = :processedAt AND r.id < :id))" +
+           " ORDER BY r.processedAt DESC, r.id DESC")
+    List<ReportSummary> findByStatusMatchingProcessedBefore(@Param("status") ReportStatus status,
+                                                             @Param("category") String category,
+                                                             @Param("source") String source,
+                                                             @Param("reportedFrom") LocalDateTime reportedFrom,
+                                                             @Param("reportedUntil") LocalDateTime reportedUntil,
+                                                             @Param("processedAt") LocalDateTime processedAt,
+                                                             @Param("id") Long id,
+                                                             Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "WHERE r.id IN :ids")
+    List<ReportSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT MAX(r.id) FROM FakeNewsReport r")
+    Long findMaxId();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT r FROM FakeNewsReport r WHERE r.id > :afterId AND r.id <= :untilId ORDER BY r.id ASC")
+    List<FakeNewsReport> findRangeForIndexing(@Param("afterId") Long afterId,
+                                              @Param("untilId") Long untilId,
+                                              Pageable pageable);
+
+    /**
+     * Forward-only cursor over every matching report in id order, fetched from the database in blocks of
+     * {@link #EXPORT_FETCH_SIZE} rows. Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.automatica.fakenews.dto.ReportExportRow(r.id, r.newsSource, r.url, r.category, " +
+           "r.description, r.status, r.reportedAt, r.processedAt, r.approvedBy, r.rejectedBy, r.duplicateCount) " +
+           "FROM FakeNewsReport r WHERE " + MATCHES_FILTER + " AND (:status IS NULL OR r.status = :status) ORDER BY r.id ASC")
+    Stream<ReportExportRow> streamForExport(@Param("category") String category,
+                                            @Param("source") String source,
+                                            @Param("status") ReportStatus status,
+                                            @Param("reportedFrom") LocalDateTime reportedFrom,
+                                            @Param("reportedUntil") LocalDateTime reportedUntil);
+
+    @Query("SELECT r.status, COUNT(r) FROM FakeNewsReport r WHERE " + MATCHES_FILTER + " GROUP BY r.status")
+    List<Object[]> countByStatusMatching(@Param("category") String category,
+                                         @Param("source") String source,
+                                         @Param("reportedFrom") LocalDateTime reportedFrom,
+                                         @Param("reportedUntil") LocalDateTime reportedUntil);
+
+    @Query("SELECT new com.automatica.fakenews.dto.ReportStatisticsKey(r.id, r.category, r.newsSource, r.reportedAt, " +
+           "r.status, r.version) FROM FakeNewsReport r WHERE r.id IN :ids")
+    List<ReportStatisticsKey> findStatisticsKeysByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.automatica.fakenews.dto.FeedVersion(MAX(r.processedAt), COUNT(r)) " +
+           "FROM FakeNewsReport r WHERE r.processedAt IS NOT NULL")
+    FeedVersion findPublicFeedVersion();
+
+    @Query("SELECT r.id FROM FakeNewsReport r WHERE r.canonicalUrlHash = :hash ORDER BY r.id ASC")
+    List<Long> findIdsByCanonicalUrlHash(@Param("hash") String hash, Pageable pageable);
+
+    @Query("SELECT DISTINCT r.canonicalUrlHash FROM FakeNewsReport r WHERE r.canonicalUrlHash IN :hashes")
+    List<String> findExistingCanonicalUrlHashes(@Param("hashes") Collection<String> hashes);
+
+    @Query("SELECT r.id, r.canonicalUrlHash FROM FakeNewsReport r " +
+           "WHERE r.id > :afterId AND r.canonicalUrlHash IS NOT NULL ORDER BY r.id ASC")
+    List<Object[]> findCanonicalUrlHashesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT r.canonicalUrlHash FROM FakeNewsReport r WHERE r.id IN :ids AND r.canonicalUrlHash IS NOT NULL")
+    List<String> findCanonicalUrlHashesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE FakeNewsReport r SET r.duplicateCount = r.duplicateCount + :count WHERE r.id = :id")
+    int incrementDuplicateCount(@Param("id") Long id, @Param("count") int count);
+
+    @Query("SELECT r.id FROM FakeNewsReport r WHERE r.id > :afterId AND " + MATCHES_FILTER +
+           " AND (:status IS NULL OR r.status = :status) ORDER BY r.id ASC")
+    List<Long> findIdsMatching(@Param("category") String category,
+                               @Param("source") String source,
+                               @Param("status") ReportStatus status,
+                               @Param("reportedFrom") LocalDateTime reportedFrom,
+                               @Param("reportedUntil") LocalDateTime reportedUntil,
+                               @Param("afterId") Long afterId,
+                               Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FakeNewsReport r SET r.status = :approved, r.approved = true, " +
+           "r.approvedAt = :now, r.approvedBy = :approvedBy, r.rejectedAt = NULL, r.rejectedBy = NULL, " +
+           "r.processedAt = :now, r.claimedBy = NULL, r.claimExpiresAt = NULL, r.version = r.version + 1 " +
+           "WHERE r.id IN :ids AND r.status <> :approved")
+    int approveAll(@Param("ids") Collection<Long> ids,
+                   @Param("approvedBy") String approvedBy,
+                   @Param("now") LocalDateTime now,
+                   @Param("approved") ReportStatus approved);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FakeNewsReport r SET r.status = :rejected, r.approved = false, " +
+           "r.rejectedAt = :now, r.rejectedBy = :rejectedBy, " +
+           "r.processedAt = :now, r.claimedBy = NULL, r.claimExpiresAt = NULL, r.version = r.version + 1 " +
+           "WHERE r.id IN :ids AND r.status <> :rejected")
+    int rejectAll(@Param("ids") Collection<Long> ids,
+                  @Param("rejectedBy") String rejectedBy,
+                  @Param("now") LocalDateTime now,
+                  @Param("rejected") ReportStatus rejected);
+
+    /**
+     * Approves one report only if it is still in the status and at the version the moderator saw, and nobody
+     * else holds a live lease on it. Returns 0 when another moderator got there first, holds the report or the
+     * report is gone, in which case nothing is written.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FakeNewsReport r SET r.status = :approved, r.approved = true, " +
+           "r.approvedAt = :now, r.approvedBy = :approvedBy, r.rejectedAt = NULL, r.rejectedBy = NULL, " +
+           "r.processedAt = :now, r.claimedBy = NULL, r.claimExpiresAt = NULL, r.version = r.version + 1 " +
+           "WHERE r.id = :id AND r.status = :expectedStatus AND r.version = :expectedVersion " +
+           "AND (r.claimedBy IS NULL OR r.claimedBy = :approvedBy OR r.claimExpiresAt < :now)")
+    int approveIfUnchanged(@Param("id") Long id,
+                           @Param("expectedStatus") ReportStatus expectedStatus,
+                           @Param("expectedVersion") long expectedVersion,
+                           @Param("approvedBy") String approvedBy,
+                           @Param("now") LocalDateTime now,
+                           @Param("approved") ReportStatus approved);
+
+    /**
+     * Rejecting counterpart of {@link #approveIfUnchanged}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FakeNewsReport r SET r.status = :rejected, r.approved = false, " +
+           "r.rejectedAt = :now, r.rejectedBy = :rejectedBy, r.processedAt = :now, " +
+           "r.claimedBy = NULL, r.claimExpiresAt = NULL, r.version = r.version + 1 " +
+           "WHERE r.id = :id AND r.status = :expectedStatus AND r.version = :expectedVersion " +
+           "AND (r.claimedBy IS NULL OR r.claimedBy = :rejectedBy OR r.claimExpiresAt < :now)")
+    int rejectIfUnchanged(@Param("id") Long id,
+                          @Param("expectedStatus") ReportStatus expectedStatus,
+                          @Param("expectedVersion") long expectedVersion,
+                          @Param("rejectedBy") String rejectedBy,
+                          @Param("now") LocalDateTime now,
+                          @Param("rejected") ReportStatus rejected);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM FakeNewsReport r WHERE r.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks the oldest pending reports that nobody holds a live lease on. Rows locked by a concurrent claim are
+     * skipped rather than waited for, so moderators claiming at the same time each get a different batch.
+     * Supported by PostgreSQL and H2 2.x alike.
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM fake_news_reports WHERE status = 'PENDING' " +
+           "AND (claim_expires_at IS NULL OR claim_expires_at < :now) ORDER BY reported_at, id " +
+           "FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED")
+    List<Long> lockClaimableIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Locks up to {@code limit} reports decided before {@code cutoff}, oldest decision first, for archival.
+     * Rows locked by a concurrent moderation are skipped and picked up by a later run.
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM fake_news_reports WHERE status <> 'PENDING' " +
+           "AND processed_at < :cutoff ORDER BY processed_at, id FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED")
+    List<Long> lockArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Leases the given reports to {@code moderator}. The claimability check is repeated so that a claim can never
+     * take over a live lease, even where the rows were not locked beforehand.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FakeNewsReport r SET r.claimedBy = :moderator, r.claimExpiresAt = :until " +
+           "WHERE r.id IN :ids AND r.status = :pending AND (r.claimExpiresAt IS NULL OR r.claimExpiresAt < :now)")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("moderator") String moderator,
+              @Param("until") LocalDateTime until,
+              @Param("now") LocalDateTime now,
+              @Param("pending") ReportStatus pending);
+
+    @Query(SELECT_SUMMARY + "WHERE r.claimedBy = :moderator AND r.claimExpiresAt >= :now AND r.status = :pending " +
+           "ORDER BY r.reportedAt ASC, r.id ASC")
+    List<ReportSummary> findClaimedBy(@Param("moderator") String moderator,
+                                      @Param("now") LocalDateTime now,
+                                      @Param("pending") ReportStatus pending);
+
+    @Query("SELECT COUNT(r) FROM FakeNewsReport r WHERE r.claimedBy = :moderator AND r.claimExpiresAt >= :now " +
+           "AND r.status = :pending")
+    long countClaimedBy(@Param("moderator") String moderator,
+                        @Param("now") LocalDateTime now,
+                        @Param("pending") ReportStatus pending);
+
+    @Query("SELECT r.claimedBy FROM FakeNewsReport r WHERE r.id = :id AND r.claimExpiresAt >= :now")
+    Optional<String> findLeaseHolder(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FakeNewsReport r SET r.claimedBy = NULL, r.claimExpiresAt = NULL WHERE r.claimedBy = :moderator")
+    int releaseClaims(@Param("moderator") String moderator);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FakeNewsReport r SET r.claimedBy = NULL, r.claimExpiresAt = NULL WHERE r.claimExpiresAt < :now")
+    int releaseExpiredClaims(@Param("now") LocalDateTime now);
 }
@@ -0,0 +1,324 @@
+package com.automatica.fakenews.repository;
+
+import com.automatica.fakenews.dto.ReportExportRow;
+import com.automatica.fakenews.dto.ReportSummary;
+import com.automatica.fakenews.model.FakeNewsReport;
+import com.automatica.fakenews.model.ReportStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Decided reports moved out of fake_news_reports by the archival job. Rows are never updated, carry what the
+ * detail pages, export, search and statistics need, and store the description as raw DEFLATE data.
+ * <p>
+ * On PostgreSQL the table is range-partitioned by month of {@code reported_at}, so every month has its own
+ * small indexes and is vacuumed, frozen and, if ever needed, detached on its own. Partitions are created on
+ * demand before rows are archived into them. Accessed through plain JDBC rather than JPA so that Hibernate's
+ * {@code ddl-auto} never creates the table unpartitioned.
+ */
+@Repository
+public class ReportArchiveRepository {
+
+    static final String TABLE = "fake_news_report_archive";
+
+    // Arbitrary key of the transaction-level advisory lock that serializes archival across instances
+    private static final long ARCHIVAL_LOCK_KEY = 0x4172636869766521L;
+
+    private static final String SELECT_SUMMARY = "SELECT id, news_source, url, category, status, reported_at, " +
+            "processed_at, decided_by, duplicate_count, description FROM " + TABLE + " ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AdvisoryLockRepository advisoryLocks;
+
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    private volatile Boolean postgres;
+
+    /**
+     * Creates the archive table and its index if they do not exist yet.
+     */
+    public void createTableIfMissing() {
+        boolean partitioned = isPostgres();
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (" +
+                "id BIGINT NOT NULL, " +
+                "news_source VARCHAR(255) NOT NULL, " +
+                "url VARCHAR(255) NOT NULL, " +
+                "category VARCHAR(255) NOT NULL, " +
+                "reported_at TIMESTAMP(6) NOT NULL, " +
+                "status VARCHAR(16) NOT NULL, " +
+                "processed_at TIMESTAMP(6) NOT NULL, " +
+                "decided_by VARCHAR(255), " +
+                "canonical_url_hash VARCHAR(64), " +
+                "duplicate_count INTEGER NOT NULL, " +
+                "description " + (partitioned ? "BYTEA" : "VARBINARY") + ", " +
+                "archived_at TIMESTAMP(6) NOT NULL, " +
+                // A partitioned table's primary key must contain the partition key
+                "PRIMARY KEY (id, reported_at))" +
+                (partitioned ? " PARTITION BY RANGE (reported_at)" : ""));
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_report_archive_processed_at ON " + TABLE +
+                " (processed_at DESC, id DESC)");
+    }
+
+    /**
+     * Serializes archival runs of several instances for the rest of the current transaction. Returns
+     * {@code false} if another instance is archiving right now. Always succeeds outside PostgreSQL.
+     */
+    public boolean tryLockArchival() {
+        return advisoryLocks.tryLock(ARCHIVAL_LOCK_KEY);
+    }
+
+    /**
+     * Inserts copies of {@code reports}, which must all have been approved or rejected.
+     */
+    public void archive(List<FakeNewsReport> reports, LocalDateTime archivedAt) {
+        if (isPostgres()) {
+            Set<YearMonth> months = new TreeSet<>();
+            reports.forEach(report -> months.add(YearMonth.from(report.getReportedAt())));
+            months.forEach(this::createPartitionIfMissing);
+        }
+        List<Object[]> rows = new ArrayList<>(reports.size());
+        for (FakeNewsReport report : reports) {
+            rows.add(new Object[] {report.getId(), report.getNewsSource(), report.getUrl(), report.getCategory(),
+                    report.getReportedAt(), report.getStatus().name(), report.getProcessedAt(),
+                    report.isApproved() ? report.getApprovedBy() : report.getRejectedBy(),
+                    report.getCanonicalUrlHash(), report.getDuplicateCount(), compress(report.getDescription()),
+                    archivedAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO " + TABLE + " (id, news_source, url, category, reported_at, status, " +
+                "processed_at, decided_by, canonical_url_hash, duplicate_count, description, archived_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * The archived report as a detached, read-only entity.
+     */
+    public Optional<FakeNewsReport> findById(Long id) {
+        return jdbcTemplate.query("SELECT id, news_source, url, category, reported_at, status, processed_at, " +
+                "decided_by, duplicate_count, description, archived_at FROM " + TABLE + " WHERE id = ?",
+                (rs, rowNum) -> toReport(rs), id).stream().findFirst();
+    }
+
+    public boolean existsById(Long id) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM " + TABLE + " WHERE id = ?", Integer.class, id).isEmpty();
+    }
+
+    public List<ReportSummary> findNewestFirst(int limit) {
+        return jdbcTemplate.query(SELECT_SUMMARY + "ORDER BY processed_at DESC, id DESC FETCH FIRST ? ROWS ONLY",
+                SUMMARY_MAPPER, limit);
+    }
+
+    public List<ReportSummary> findProcessedBefore(LocalDateTime processedAt, Long id, int limit) {
+        return jdbcTemplate.query(SELECT_SUMMARY + "WHERE processed_at < ? OR (processed_at = ? AND id < ?) " +
+                "ORDER BY processed_at DESC, id DESC FETCH FIRST ? ROWS ONLY",
+                SUMMARY_MAPPER, processedAt, processedAt, id, limit);
+    }
+
+    public List<ReportSummary> findProcessedAfter(LocalDateTime processedAt, Long id, int limit) {
+        return jdbcTemplate.query(SELECT_SUMMARY + "WHERE processed_at > ? OR (processed_at = ? AND id > ?) " +
+                "ORDER BY processed_at ASC, id ASC FETCH FIRST ? ROWS ONLY",
+                SUMMARY_MAPPER, processedAt, processedAt, id, limit);
+    }
+
+    public List<ReportSummary> findSummariesByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.query(SELECT_SUMMARY + "WHERE id IN (" + placeholders + ")", SUMMARY_MAPPER, ids.toArray());
+    }
+
+    /**
+     * Up to {@code limit} archived reports with ids above {@code afterId}, in id order, for the search index.
+     */
+    public List<FakeNewsReport> findRangeForIndexing(long afterId, int limit) {
+        return jdbcTemplate.query("SELECT id, news_source, url, category, reported_at, status, processed_at, " +
+                "decided_by, duplicate_count, description, archived_at FROM " + TABLE + " WHERE id > ? " +
+                "ORDER BY id ASC FETCH FIRST ? ROWS ONLY", (rs, rowNum) -> toReport(rs), afterId, limit);
+    }
+
+    /**
+     * Passes every archived report matching the criteria to {@code sink} in id order, reading them through a
+     * cursor in blocks of {@code fetchSize} rows. {@code null} criteria match everything.
+     *
+     * @return the number of rows exported
+     */
+    public long exportMatching(String category, String source, ReportStatus status, LocalDateTime reportedFrom,
+                               LocalDateTime reportedUntil, int fetchSize, Consumer<ReportExportRow> sink) {
+        if (status == ReportStatus.PENDING) {
+            // Only decided reports are archived
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder("SELECT id, news_source, url, category, description, status, " +
+                "reported_at, processed_at, decided_by, duplicate_count FROM " + TABLE + " WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        // Conditions are only added for given criteria; PostgreSQL cannot type a bare "? IS NULL"
+        appendCondition(sql, args, " AND category = ?", category);
+        appendCondition(sql, args, " AND news_source = ?", source);
+        appendCondition(sql, args, " AND status = ?", status != null ? status.name() : null);
+        appendCondition(sql, args, " AND reported_at >= ?", reportedFrom);
+        appendCondition(sql, args, " AND reported_at < ?", reportedUntil);
+        sql.append(" ORDER BY id ASC");
+
+        long[] count = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString());
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            ReportStatus rowStatus = ReportStatus.valueOf(rs.getString("status"));
+            String decidedBy = rs.getString("decided_by");
+            sink.accept(new ReportExportRow(rs.getLong("id"), rs.getString("news_source"), rs.getString("url"),
+                    rs.getString("category"), decompress(rs.getBytes("description")), rowStatus,
+                    rs.getObject("reported_at", LocalDateTime.class), rs.getObject("processed_at", LocalDateTime.class),
+                    rowStatus == ReportStatus.APPROVED ? decidedBy : null,
+                    rowStatus == ReportStatus.REJECTED ? decidedBy : null, rs.getInt("duplicate_count")));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private static void appendCondition(StringBuilder sql, List<Object> args, String condition, Object value) {
+        if (value != null) {
+            sql.append(condition);
+            args.add(value);
+        }
+    }
+
+    private void createPartitionIfMissing(YearMonth month) {
+        if (knownPartitions.contains(month)) {
+            return;
+        }
+        String partition = String.format("%s_y%04dm%02d", TABLE, month.getYear(), month.getMonthValue());
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE +
+                    " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        } catch (DataAccessException e) {
+            // Another instance may have created it concurrently despite the archival lock (e.g. a manual run)
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition) != Boolean.TRUE) {
+                throw e;
+            }
+        }
+        knownPartitions.add(month);
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equals(product);
+            postgres = result;
+        }
+        return result;
+    }
+
+    private static final RowMapper<ReportSummary> SUMMARY_MAPPER = (rs, rowNum) -> {
+        ReportStatus status = ReportStatus.valueOf(rs.getString("status"));
+        String decidedBy = rs.getString("decided_by");
+        String description = decompress(rs.getBytes("description"));
+        if (description != null && description.length() > ReportSummary.EXCERPT_FETCH_LENGTH) {
+            description = description.substring(0, ReportSummary.EXCERPT_FETCH_LENGTH);
+        }
+        return new ReportSummary(rs.getLong("id"), rs.getString("news_source"), rs.getString("url"),
+                rs.getString("category"), status, rs.getObject("reported_at", LocalDateTime.class),
+                rs.getObject("processed_at", LocalDateTime.class),
+                status == ReportStatus.APPROVED ? decidedBy : null, status == ReportStatus.REJECTED ? decidedBy : null,
+                rs.getInt("duplicate_count"), description);
+    };
+
+    private static FakeNewsReport toReport(ResultSet rs) throws SQLException {
+        FakeNewsReport report = new FakeNewsReport();
+        report.setId(rs.getLong("id"));
+        report.setNewsSource(rs.getString("news_source"));
+        report.setUrl(rs.getString("url"));
+        report.setCategory(rs.getString("category"));
+        report.setReportedAt(rs.getObject("reported_at", LocalDateTime.class));
+        report.setDuplicateCount(rs.getInt("duplicate_count"));
+        report.setDescription(decompress(rs.getBytes("description")));
+        LocalDateTime processedAt = rs.getObject("processed_at", LocalDateTime.class);
+        if (ReportStatus.valueOf(rs.getString("status")) == ReportStatus.APPROVED) {
+            report.markApproved(rs.getString("decided_by"), processedAt);
+        } else {
+            report.markRejected(rs.getString("decided_by"), processedAt);
+        }
+        report.setArchivedAt(rs.getObject("archived_at", LocalDateTime.class));
+        return report;
+    }
+
+    static byte[] compress(String text) {
+        if (text == null) {
+            return null;
+        }
+        // Raw DEFLATE without the zlib/gzip framing, which would cost up to 18 bytes on mostly short texts
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(text.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(text.length() / 2 + 16);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static String decompress(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            // Raw inflation needs one extra dummy input byte to detect the end of the stream (see Inflater)
+            inflater.setInput(Arrays.copyOf(data, data.length + 1));
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated archived description");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt archived description", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.automatica.fakenews.repository;
+
+import com.automatica.fakenews.model.ReportStatistic;
+import com.automatica.fakenews.model.ReportStatisticId;
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.model.StatisticsDimension;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReportStatisticRepository extends JpaRepository<ReportStatistic, ReportStatisticId> {
+
+    List<ReportStatistic> findByIdDimension(StatisticsDimension dimension);
+
+    @Modifying
+    @Query("UPDATE ReportStatistic s SET s.reportCount = s.reportCount + :delta WHERE s.id = :id")
+    int increment(@Param("id") ReportStatisticId id, @Param("delta") long delta);
+
+    /**
+     * Reports per category, source and submission day and status, archived reports included. A single statement,
+     * so that every count is taken from the same snapshot even while reports are being changed or archived.
+     */
+    @Query(value = "WITH r AS (SELECT category, news_source, reported_at, status FROM fake_news_reports " +
+            "UNION ALL SELECT category, news_source, reported_at, status FROM " + ReportArchiveRepository.TABLE + ") " +
+            "SELECT 'CATEGORY' AS dimension, category AS dimensionValue, status, COUNT(*) AS reportCount " +
+            "FROM r GROUP BY category, status " +
+            "UNION ALL SELECT 'SOURCE', news_source, status, COUNT(*) FROM r GROUP BY news_source, status " +
+            "UNION ALL SELECT 'DAY', CAST(CAST(reported_at AS DATE) AS VARCHAR(10)), status, COUNT(*) FROM r " +
+            "GROUP BY CAST(reported_at AS DATE), status", nativeQuery = true)
+    List<Count> countReports();
+
+    @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+    LocalDateTime currentDatabaseTime();
+
+    interface Count {
+
+        StatisticsDimension getDimension();
+
+        String getDimensionValue();
+
+        ReportStatus getStatus();
+
+        long getReportCount();
+    }
+}
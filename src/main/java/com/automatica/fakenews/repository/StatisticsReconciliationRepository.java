@@ -0,0 +1,9 @@
+package com.automatica.fakenews.repository;
+
+import com.automatica.fakenews.model.StatisticsReconciliation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StatisticsReconciliationRepository extends JpaRepository<StatisticsReconciliation, Integer> {
+}
@@ -0,0 +1,101 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.config.CacheConfig;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the per-instance caches of several instances sharing one database consistent. Every local
+ * {@link ReportChangedEvent} is published on the {@link ReportInvalidationBus}. Messages from other instances
+ * are published locally again as remote events for the search index; moderations also evict the public feed
+ * caches, and submissions add their URLs to the duplicate filter. If messages may have been lost, everything
+ * is reloaded.
+ */
+@Component
+public class ClusterCacheInvalidator implements ReportInvalidationBus.Subscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterCacheInvalidator.class);
+
+    private static final List<String> REPORT_CACHES = List.of(CacheConfig.PUBLIC_FEED, CacheConfig.PUBLIC_FEED_VERSION,
+            CacheConfig.PAGE_SNAPSHOTS);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    private ReportInvalidationBus invalidationBus;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DuplicateReportDetector duplicateDetector;
+
+    @Autowired
+    private ReportSearchService searchService;
+
+    @PostConstruct
+    void init() {
+        invalidationBus.subscribe(this);
+    }
+
+    /**
+     * Runs inside the publishing transaction, so the message goes out only if the change commits.
+     */
+    @EventListener
+    public void onReportChanged(ReportChangedEvent event) {
+        if (event.isRemote() || event.getReportIds().isEmpty()) {
+            return;
+        }
+        ReportInvalidation.of(nodeId, event.isDeleted(), event.isModerated(), event.isArchived(), event.getReportIds())
+                .forEach(invalidationBus::publish);
+    }
+
+    @Override
+    public void onInvalidation(ReportInvalidation invalidation) {
+        if (nodeId.equals(invalidation.getOrigin())) {
+            return;
+        }
+        // Published first, so listeners such as the read-your-writes window see the change before readers
+        // can refill the evicted caches
+        eventPublisher.publishEvent(ReportChangedEvent.remote(invalidation.getReportIds(), invalidation.isDeleted(),
+                invalidation.isModerated(), invalidation.isArchived()));
+        if (invalidation.isModerated()) {
+            evictReportCaches();
+        } else {
+            duplicateDetector.registerReports(invalidation.getReportIds());
+        }
+    }
+
+    @Override
+    public void onMessagesLost() {
+        log.info("Report invalidations may have been missed; clearing report caches and rebuilding the search index");
+        evictReportCaches();
+        searchService.scheduleRebuild();
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    private void evictReportCaches() {
+        for (String name : REPORT_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
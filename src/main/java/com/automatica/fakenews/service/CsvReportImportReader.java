@@ -0,0 +1,131 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.dto.ReportForm;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns, so files written by the CSV export can be imported
+ * again. Column names are matched ignoring case, underscores and spaces ({@code news_source} and
+ * {@code newsSource} are the same column); columns other than the report fields are ignored. Quoted fields
+ * may contain commas, quotes and line breaks.
+ */
+public class CsvReportImportReader implements ReportImportReader {
+
+    private static final int MAX_FIELD_LENGTH = 64 * 1024;
+
+    private final BufferedReader in;
+    private final int newsSourceColumn;
+    private final int urlColumn;
+    private final int categoryColumn;
+    private final int descriptionColumn;
+    private long linesRead;
+    private long line;
+
+    public CsvReportImportReader(InputStream stream) throws IOException {
+        this.in = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8), 64 * 1024);
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IOException("The CSV file is empty");
+        }
+        header.set(0, header.get(0).replace("\uFEFF", ""));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).replaceAll("[_\\s-]", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("newssource") || !columns.containsKey("url") || !columns.containsKey("category")) {
+            throw new IOException("The CSV header must contain news_source, url and category columns");
+        }
+        this.newsSourceColumn = columns.get("newssource");
+        this.urlColumn = columns.get("url");
+        this.categoryColumn = columns.get("category");
+        this.descriptionColumn = columns.getOrDefault("description", -1);
+    }
+
+    @Override
+    public ReportForm next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+
+        ReportForm form = new ReportForm();
+        form.setNewsSource(column(record, newsSourceColumn));
+        form.setUrl(column(record, urlColumn));
+        form.setCategory(column(record, categoryColumn));
+        String description = column(record, descriptionColumn);
+        form.setDescription(description == null || description.isEmpty() ? null : description);
+        return form;
+    }
+
+    @Override
+    public long getLine() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static String column(List<String> record, int index) {
+        return index >= 0 && index < record.size() ? record.get(index) : null;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        line = linesRead + 1;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (c == -1) {
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    c = in.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    linesRead++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                linesRead++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            if (field.length() > MAX_FIELD_LENGTH) {
+                throw new IOException("Field longer than " + MAX_FIELD_LENGTH + " characters on line " + line +
+                        "; is a quote missing?");
+            }
+            c = in.read();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.repository.FakeNewsReportRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Finds the report a new submission duplicates. A Bloom filter of every known canonical URL hash answers the
+ * common "never seen before" case in memory; only probable duplicates cost an indexed lookup.
+ * Until the filter has been loaded at startup every submission falls back to the lookup.
+ * <p>
+ * Only the reports table is consulted, so archived reports are no longer duplicates: their hashes may stay in
+ * the filter, but the lookup no longer finds them.
+ */
+@Component
+public class DuplicateReportDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateReportDetector.class);
+
+    private static final int WARM_UP_CHUNK_SIZE = 10_000;
+
+    @Autowired
+    private FakeNewsReportRepository reportRepository;
+
+    @Value("${app.dedup.expected-urls:1000000}")
+    private long expectedUrls;
+
+    @Value("${app.dedup.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private UrlBloomFilter filter;
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    void init() {
+        filter = new UrlBloomFilter(expectedUrls, falsePositiveRate);
+    }
+
+    public Optional<Long> findExistingReportId(String urlHash) {
+        if (ready && !filter.mightContain(urlHash)) {
+            return Optional.empty();
+        }
+        return reportRepository.findIdsByCanonicalUrlHash(urlHash, PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    /**
+     * The subset of {@code urlHashes} already reported, resolved with a single query for all probable matches.
+     */
+    public Set<String> findExisting(Collection<String> urlHashes) {
+        List<String> candidates = ready
+                ? urlHashes.stream().filter(filter::mightContain).toList()
+                : List.copyOf(urlHashes);
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(reportRepository.findExistingCanonicalUrlHashes(candidates));
+    }
+
+    public void register(String urlHash) {
+        filter.put(urlHash);
+    }
+
+    /**
+     * Adds the URLs of reports saved by another instance, which never passed through {@link #register}.
+     */
+    public void registerReports(Collection<Long> reportIds) {
+        reportRepository.findCanonicalUrlHashesByIdIn(reportIds).forEach(filter::put);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        // Submissions arriving during the load are registered in the same filter, but until the load
+        // completes it may answer "absent" for older URLs, hence the lookup fallback while not ready.
+        long loaded = 0;
+        long afterId = 0;
+        List<Object[]> chunk;
+        do {
+            chunk = reportRepository.findCanonicalUrlHashesAfter(afterId, PageRequest.of(0, WARM_UP_CHUNK_SIZE));
+            for (Object[] row : chunk) {
+                afterId = (Long) row[0];
+                filter.put((String) row[1]);
+            }
+            loaded += chunk.size();
+        } while (chunk.size() == WARM_UP_CHUNK_SIZE);
+        ready = true;
+        log.info("Loaded {} canonical URL hashes into the duplicate filter", loaded);
+    }
+}
@@ -1,79 +1,561 @@
 package com.automatica.fakenews.service;
 
+import com.automatica.fakenews.config.CacheConfig;
+import com.automatica.fakenews.config.EvictPublicFeedCaches;
+import com.automatica.fakenews.dto.FeedVersion;
+import com.automatica.fakenews.dto.ReportCursor;
+import com.automatica.fakenews.dto.ReportExportRow;
+import com.automatica.fakenews.dto.ReportFilter;
+import com.automatica.fakenews.dto.ReportPage;
+import com.automatica.fakenews.dto.ReportStatisticsKey;
+import com.automatica.fakenews.dto.ReportSummary;
 import com.automatica.fakenews.model.FakeNewsReport;
+import com.automatica.fakenews.model.ReportStatus;
 import com.automatica.fakenews.repository.FakeNewsReportRepository;
+import com.automatica.fakenews.repository.ReportArchiveRepository;
+import com.automatica.fakenews.service.ReportStatusChangedEvent.Transition;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "fakenews.service", description = "Report service calls, tagged with the method")
 public class FakeNewsReportService {
 
+    private static final Comparator<ReportSummary> OLDEST_DECISION_FIRST =
+            Comparator.comparing(ReportSummary::getProcessedAt).thenComparing(ReportSummary::getId);
+    private static final Comparator<ReportSummary> NEWEST_DECISION_FIRST = OLDEST_DECISION_FIRST.reversed();
+
     @Autowired
     private FakeNewsReportRepository reportRepository;
 
-    public List<FakeNewsReport> getApprovedReports() {
-        return reportRepository.findByApprovedTrueOrderByApprovedAtDesc();
-    }
+    @Autowired
+    private ReportArchiveRepository archiveRepository;
 
-    public List<FakeNewsReport> getPendingReports() {
-        return reportRepository.findByApprovedFalseAndRejectedAtIsNullOrderByReportedAtDesc();
-    }
+    @Autowired
+    private DuplicateReportDetector duplicateDetector;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-    public List<FakeNewsReport> getAllReports() {
-        return reportRepository.findAllByOrderByReportedAtDesc();
+    @Value("${app.feed.default-page-size:20}")
+    private int defaultPageSize = 20;
+
+    @Value("${app.feed.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    @Value("${app.moderation.bulk-chunk-size:500}")
+    private int bulkChunkSize = 500;
+
+    @Transactional(readOnly = true)
+    public List<ReportSummary> getPendingReports() {
+        return reportRepository.findByStatusOrderByReportedAtDescIdDesc(ReportStatus.PENDING);
     }
 
+    /**
+     * The report, looked up in the archive if it is no longer in the reports table; archived copies are read-only.
+     */
+    @Transactional(readOnly = true)
     public Optional<FakeNewsReport> getReportById(Long id) {
-        return reportRepository.findById(id);
+        return reportRepository.findById(id).or(() -> archiveRepository.findById(id));
     }
 
+    /**
+     * The full report, description included, if it has already been approved or rejected; pending reports
+     * are not public.
+     */
+    @Transactional(readOnly = true)
+    public Optional<FakeNewsReport> getPublicReport(Long id) {
+        return getReportById(id).filter(report -> !report.isPending());
+    }
+
+    /**
+     * Saves a new submission, or, if the same article has been reported before, only bumps the duplicate
+     * counter of the existing report and returns that one instead.
+     */
     @Transactional
     public FakeNewsReport saveReport(FakeNewsReport report) {
-        return reportRepository.save(report);
+        String urlHash = UrlNormalizer.hash(report.getUrl());
+        report.setCanonicalUrlHash(urlHash);
+
+        Optional<Long> existingId = duplicateDetector.findExistingReportId(urlHash);
+        if (existingId.isPresent()) {
+            reportRepository.incrementDuplicateCount(existingId.get(), 1);
+            return reportRepository.getReferenceById(existingId.get());
+        }
+
+        FakeNewsReport saved = reportRepository.save(report);
+        duplicateDetector.register(urlHash);
+        eventPublisher.publishEvent(ReportChangedEvent.saved(List.of(saved.getId())));
+        publishTransitions(List.of(Transition.of(saved, null, saved.getStatus())));
+        return saved;
     }
 
+    /**
+     * Batch variant of {@link #saveReport(FakeNewsReport)}. Duplicates inside the batch are folded into the
+     * first occurrence and duplicates of stored reports become counter updates; only new reports are inserted.
+     * The first occurrences are only given their duplicate counts right before they are inserted, so a batch
+     * that fails before that leaves the submitted reports as they were for a retry.
+     */
     @Transactional
-    public void approveReport(Long id, String approvedBy) {
-        Optional<FakeNewsReport> reportOpt = reportRepository.findById(id);
-        if (reportOpt.isPresent()) {
-            FakeNewsReport report = reportOpt.get();
-            report.setApproved(true);
-            report.setApprovedAt(LocalDateTime.now());
-            report.setApprovedBy(approvedBy);
-            // Clear rejection fields if previously rejected
-            report.setRejectedAt(null);
-            report.setRejectedBy(null);
-            reportRepository.save(report);
+    public List<FakeNewsReport> saveReports(List<FakeNewsReport> reports) {
+        Map<String, FakeNewsReport> newReports = new LinkedHashMap<>();
+        Map<String, Integer> duplicatesInBatch = new HashMap<>();
+        Map<Long, Integer> duplicatesOfStored = new HashMap<>();
+
+        for (FakeNewsReport report : reports) {
+            String urlHash = UrlNormalizer.hash(report.getUrl());
+            report.setCanonicalUrlHash(urlHash);
+
+            if (newReports.containsKey(urlHash)) {
+                duplicatesInBatch.merge(urlHash, 1, Integer::sum);
+                continue;
+            }
+            Optional<Long> existingId = duplicateDetector.findExistingReportId(urlHash);
+            if (existingId.isPresent()) {
+                duplicatesOfStored.merge(existingId.get(), 1, Integer::sum);
+            } else {
+                newReports.put(urlHash, report);
+            }
         }
+
+        duplicatesOfStored.forEach(reportRepository::incrementDuplicateCount);
+        duplicatesInBatch.forEach((urlHash, count) -> {
+            FakeNewsReport firstInBatch = newReports.get(urlHash);
+            firstInBatch.setDuplicateCount(firstInBatch.getDuplicateCount() + count);
+        });
+        List<FakeNewsReport> saved = reportRepository.saveAll(newReports.values());
+        newReports.keySet().forEach(duplicateDetector::register);
+        eventPublisher.publishEvent(ReportChangedEvent.saved(saved.stream().map(FakeNewsReport::getId).toList()));
+        publishTransitions(saved.stream().map(report -> Transition.of(report, null, report.getStatus())).toList());
+        return saved;
     }
 
+    /**
+     * Inserts imported reports whose URL has not been reported before, leaving duplicates (of stored reports
+     * or of each other) out instead of counting them. Known URLs are looked up with one query for the whole
+     * chunk.
+     *
+     * @return the reports that were inserted
+     */
+    @Transactional
+    public List<FakeNewsReport> importReports(List<FakeNewsReport> reports) {
+        Map<String, FakeNewsReport> newReports = new LinkedHashMap<>();
+        for (FakeNewsReport report : reports) {
+            String urlHash = UrlNormalizer.hash(report.getUrl());
+            report.setCanonicalUrlHash(urlHash);
+            newReports.putIfAbsent(urlHash, report);
+        }
+        newReports.keySet().removeAll(duplicateDetector.findExisting(newReports.keySet()));
+
+        List<FakeNewsReport> saved = reportRepository.saveAll(newReports.values());
+        newReports.keySet().forEach(duplicateDetector::register);
+        eventPublisher.publishEvent(ReportChangedEvent.saved(saved.stream().map(FakeNewsReport::getId).toList()));
+        publishTransitions(saved.stream().map(report -> Transition.of(report, null, report.getStatus())).toList());
+        return saved;
+    }
+
+    /**
+     * Approves a report in whatever state it is now. The status and version read here still guard the write,
+     * so a decision made concurrently by another moderator is reported as a conflict rather than overwritten.
+     */
+    @EvictPublicFeedCaches
+    @Transactional
+    public void approveReport(Long id, String approvedBy) {
+        moderate(id, null, null, ReportStatus.APPROVED, approvedBy);
+    }
+
+    /**
+     * Approves a report only if it is still in {@code expectedStatus} at {@code expectedVersion}, i.e. as the
+     * moderator last saw it, with a single conditional UPDATE.
+     *
+     * @throws ModerationConflictException if the report was changed or deleted in the meantime
+     */
+    @EvictPublicFeedCaches
+    @Transactional
+    public void approveReport(Long id, String approvedBy, ReportStatus expectedStatus, long expectedVersion) {
+        moderate(id, expectedStatus, expectedVersion, ReportStatus.APPROVED, approvedBy);
+    }
+
+    @EvictPublicFeedCaches
     @Transactional
     public void rejectReport(Long id, String rejectedBy) {
-        Optional<FakeNewsReport> reportOpt = reportRepository.findById(id);
-        if (reportOpt.isPresent()) {
-            FakeNewsReport report = reportOpt.get();
-            report.setApproved(false);
-            report.setRejectedAt(LocalDateTime.now());
-            report.setRejectedBy(rejectedBy);
-            reportRepository.save(report);
+        moderate(id, null, null, ReportStatus.REJECTED, rejectedBy);
+    }
+
+    /**
+     * Rejecting counterpart of {@link #approveReport(Long, String, ReportStatus, long)}.
+     */
+    @EvictPublicFeedCaches
+    @Transactional
+    public void rejectReport(Long id, String rejectedBy, ReportStatus expectedStatus, long expectedVersion) {
+        moderate(id, expectedStatus, expectedVersion, ReportStatus.REJECTED, rejectedBy);
+    }
+
+    /**
+     * Moves one report to {@code target}. Without an expected state the current one is read first, which keeps
+     * the unconditional entry points free of lost updates too.
+     */
+    private void moderate(Long id, ReportStatus expectedStatus, Long expectedVersion, ReportStatus target,
+                          String moderator) {
+        ReportStatisticsKey key = null;
+        if (expectedStatus == null) {
+            key = findStatisticsKey(id);
+            if (key == null || key.getStatus() == target) {
+                return;
+            }
+            expectedStatus = key.getStatus();
+            expectedVersion = key.getVersion();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = target == ReportStatus.APPROVED
+                ? reportRepository.approveIfUnchanged(id, expectedStatus, expectedVersion, moderator, now, target)
+                : reportRepository.rejectIfUnchanged(id, expectedStatus, expectedVersion, moderator, now, target);
+        if (updated == 0) {
+            throw conflict(id, moderator, now);
+        }
+        eventPublisher.publishEvent(ReportChangedEvent.moderated(List.of(id)));
+        if (expectedStatus != target) {
+            // Category, source and report time never change, so reading them after the write is safe
+            if (key == null) {
+                key = findStatisticsKey(id);
+            }
+            publishTransitions(List.of(new Transition(id, key.getCategory(), key.getNewsSource(), key.getReportedAt(),
+                    expectedStatus, target)));
+        }
+    }
+
+    private ReportStatisticsKey findStatisticsKey(Long id) {
+        List<ReportStatisticsKey> keys = reportRepository.findStatisticsKeysByIdIn(List.of(id));
+        return keys.isEmpty() ? null : keys.get(0);
+    }
+
+    private ModerationConflictException conflict(Long id, String moderator, LocalDateTime now) {
+        ReportSummary current = reportRepository.findSummariesByIdIn(List.of(id)).stream().findFirst().orElse(null);
+        String message;
+        if (current == null && archiveRepository.existsById(id)) {
+            message = "Report #" + id + " has been archived and can no longer be changed.";
+        } else if (current == null) {
+            message = "Report #" + id + " has been deleted by another moderator.";
+        } else if (current.isApproved()) {
+            message = "Report #" + id + " was already approved by " + current.getApprovedBy()
+                    + ". Review it again before changing the decision.";
+        } else if (current.isRejected()) {
+            message = "Report #" + id + " was already rejected by " + current.getRejectedBy()
+                    + ". Review it again before changing the decision.";
+        } else {
+            String holder = reportRepository.findLeaseHolder(id, now).orElse(moderator);
+            message = holder.equals(moderator)
+                    ? "Report #" + id + " was changed by another moderator. Review it again before deciding."
+                    : "Report #" + id + " is claimed by " + holder + ". Leave it to them or wait until the claim runs out.";
+        }
+        return new ModerationConflictException(id, current, message);
+    }
+
+    /**
+     * Returns one page of approved and rejected reports, newest decision first, archived ones included. At most
+     * one of {@code before} and {@code after} is honoured; with neither the first page is returned.
+     */
+    @Cacheable(CacheConfig.PUBLIC_FEED)
+    @Transactional(readOnly = true)
+    public ReportPage<ReportSummary> getPublicReports(ReportCursor before, ReportCursor after, Integer requestedSize) {
+        int size = resolvePageSize(requestedSize);
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        if (after != null) {
+            List<ReportSummary> newer = merge(
+                    reportRepository.findProcessedReportsAfter(after.getTimestamp(), after.getId(), limit),
+                    archiveRepository.findProcessedAfter(after.getTimestamp(), after.getId(), size + 1),
+                    OLDEST_DECISION_FIRST, size + 1);
+            boolean hasPrevious = newer.size() > size;
+            if (!hasPrevious && newer.size() < size) {
+                // Walked back onto the head of the feed: show a full first page instead of a short one
+                return getPublicReports(null, null, size);
+            }
+            List<ReportSummary> items = newer.subList(0, Math.min(size, newer.size()));
+            Collections.reverse(items);
+            return new ReportPage<>(items, size,
+                    hasPrevious ? cursorOf(items.get(0)) : null,
+                    items.isEmpty() ? null : cursorOf(items.get(items.size() - 1)));
+        }
+
+        List<ReportSummary> older = before != null
+                ? merge(reportRepository.findProcessedReportsBefore(before.getTimestamp(), before.getId(), limit),
+                        archiveRepository.findProcessedBefore(before.getTimestamp(), before.getId(), size + 1),
+                        NEWEST_DECISION_FIRST, size + 1)
+                : merge(reportRepository.findProcessedReportsNewestFirst(limit),
+                        archiveRepository.findNewestFirst(size + 1), NEWEST_DECISION_FIRST, size + 1);
+        boolean hasNext = older.size() > size;
+        List<ReportSummary> items = older.subList(0, Math.min(size, older.size()));
+        return new ReportPage<>(items, size,
+                before != null && !items.isEmpty() ? cursorOf(items.get(0)) : null,
+                hasNext ? cursorOf(items.get(items.size() - 1)) : null);
+    }
+
+    /**
+     * Returns one page of the reports in {@code status} that match {@code filter}, following {@code before}
+     * when given. Pending reports are ordered by submission time, decided ones by decision time. Pending reports
+     * leased to a moderator other than {@code moderator} are left out; they show up again once the lease ends.
+     */
+    @Transactional(readOnly = true)
+    public ReportPage<ReportSummary> getModerationPage(ReportStatus status, ReportFilter filter,
+                                                        ReportCursor before, Integer requestedSize, String moderator) {
+        int size = resolvePageSize(requestedSize);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        String category = filter.getCategoryOrNull();
+        String source = filter.getSourceOrNull();
+        LocalDateTime from = filter.getReportedFrom();
+        LocalDateTime until = filter.getReportedUntil();
+        boolean pending = status == ReportStatus.PENDING;
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ReportSummary> reports;
+        if (before == null) {
+            reports = pending
+                    ? reportRepository.findByStatusMatchingNewestReportedFirst(status, category, source, from, until,
+                            moderator, now, limit)
+                    : reportRepository.findByStatusMatchingNewestProcessedFirst(status, category, source, from, until, limit);
+        } else {
+            reports = pending
+                    ? reportRepository.findByStatusMatchingReportedBefore(status, category, source, from, until,
+                            moderator, now, before.getTimestamp(), before.getId(), limit)
+                    : reportRepository.findByStatusMatchingProcessedBefore(status, category, source, from, until,
+                            before.getTimestamp(), before.getId(), limit);
+        }
+
+        boolean hasNext = reports.size() > size;
+        List<ReportSummary> items = reports.subList(0, Math.min(size, reports.size()));
+        ReportCursor next = null;
+        if (hasNext) {
+            ReportSummary last = items.get(items.size() - 1);
+            next = new ReportCursor(pending ? last.getReportedAt() : last.getProcessedAt(), last.getId());
+        }
+        return new ReportPage<>(items, size, null, next);
+    }
+
+    /**
+     * Number of reports matching {@code filter} per status, from a single grouped count query.
+     */
+    @Transactional(readOnly = true)
+    public Map<ReportStatus, Long> countReportsByStatus(ReportFilter filter) {
+        Map<ReportStatus, Long> counts = new EnumMap<>(ReportStatus.class);
+        for (ReportStatus status : ReportStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : reportRepository.countByStatusMatching(filter.getCategoryOrNull(), filter.getSourceOrNull(),
+                filter.getReportedFrom(), filter.getReportedUntil())) {
+            counts.put((ReportStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    /**
+     * Passes every report matching {@code filter} (including its status) to {@code sink}, reading them through
+     * database cursors so that memory use does not grow with the number of rows. Reports of the reports table
+     * come first, archived ones after them, each in id order. Both are read from one snapshot, so a report
+     * archived meanwhile is exported exactly once.
+     *
+     * @return the number of rows exported
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long exportReports(ReportFilter filter, Consumer<ReportExportRow> sink) {
+        long count = 0;
+        try (Stream<ReportExportRow> rows = reportRepository.streamForExport(filter.getCategoryOrNull(),
+                filter.getSourceOrNull(), filter.getStatus(), filter.getReportedFrom(), filter.getReportedUntil())) {
+            for (Iterator<ReportExportRow> it = rows.iterator(); it.hasNext(); count++) {
+                sink.accept(it.next());
+            }
+        }
+        return count + archiveRepository.exportMatching(filter.getCategoryOrNull(), filter.getSourceOrNull(),
+                filter.getStatus(), filter.getReportedFrom(), filter.getReportedUntil(),
+                FakeNewsReportRepository.EXPORT_FETCH_SIZE, sink);
+    }
+
+    @Cacheable(CacheConfig.PUBLIC_FEED_VERSION)
+    @Transactional(readOnly = true)
+    public FeedVersion getPublicFeedVersion() {
+        return reportRepository.findPublicFeedVersion();
+    }
+
+    private int resolvePageSize(Integer requestedSize) {
+        if (requestedSize == null || requestedSize < 1) {
+            return defaultPageSize;
         }
+        return Math.min(requestedSize, maxPageSize);
     }
 
-    public List<FakeNewsReport> getRejectedReports() {
-        return reportRepository.findByRejectedAtIsNotNullOrderByRejectedAtDesc();
+    private static ReportCursor cursorOf(ReportSummary report) {
+        return new ReportCursor(report.getProcessedAt(), report.getId());
     }
 
-    public List<FakeNewsReport> getPublicReports() {
-        return reportRepository.findApprovedAndRejectedReportsOrderByProcessedAtDesc();
+    /**
+     * Merges two lists sorted by {@code order} into one of at most {@code limit} elements.
+     */
+    private static List<ReportSummary> merge(List<ReportSummary> first, List<ReportSummary> second,
+                                             Comparator<ReportSummary> order, int limit) {
+        List<ReportSummary> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            if (j == second.size() || (i < first.size() && order.compare(first.get(i), second.get(j)) <= 0)) {
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+        return merged;
     }
 
+    /**
+     * Moves up to {@code limit} reports decided before {@code cutoff} from the reports table into the archive,
+     * oldest decision first, skipping rows that a moderator holds locked. Returns the number of reports moved,
+     * which is also 0 while another instance is archiving.
+     */
+    @EvictPublicFeedCaches
+    @Transactional
+    public int archiveDecidedBefore(LocalDateTime cutoff, int limit) {
+        if (!archiveRepository.tryLockArchival()) {
+            return 0;
+        }
+        List<Long> ids = reportRepository.lockArchivableIds(cutoff, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archiveRepository.archive(reportRepository.findAllById(ids), LocalDateTime.now());
+        reportRepository.deleteAllByIdInBatch(ids);
+        // Statistics keep counting archived reports, so no status transitions are published
+        eventPublisher.publishEvent(ReportChangedEvent.archived(ids));
+        return ids.size();
+    }
+
+    @EvictPublicFeedCaches
     @Transactional
     public void deleteReport(Long id) {
-        reportRepository.deleteById(id);
+        reportRepository.findById(id).ifPresent(report -> {
+            reportRepository.delete(report);
+            publishTransitions(List.of(Transition.of(report, report.getStatus(), null)));
+        });
+        eventPublisher.publishEvent(ReportChangedEvent.deleted(List.of(id)));
+    }
+
+    @EvictPublicFeedCaches
+    @Transactional
+    public int approveReports(Collection<Long> ids, String approvedBy) {
+        LocalDateTime now = LocalDateTime.now();
+        return forEachChunk(ids, chunk -> reportRepository.approveAll(chunk, approvedBy, now, ReportStatus.APPROVED),
+                ReportStatus.APPROVED);
+    }
+
+    @EvictPublicFeedCaches
+    @Transactional
+    public int rejectReports(Collection<Long> ids, String rejectedBy) {
+        LocalDateTime now = LocalDateTime.now();
+        return forEachChunk(ids, chunk -> reportRepository.rejectAll(chunk, rejectedBy, now, ReportStatus.REJECTED),
+                ReportStatus.REJECTED);
+    }
+
+    @EvictPublicFeedCaches
+    @Transactional
+    public int deleteReports(Collection<Long> ids) {
+        return forEachChunk(ids, reportRepository::deleteAllByIds, null);
+    }
+
+    @EvictPublicFeedCaches
+    @Transactional
+    public int approveMatching(ReportFilter filter, String approvedBy) {
+        LocalDateTime now = LocalDateTime.now();
+        return forEachMatchingChunk(filter, chunk -> reportRepository.approveAll(chunk, approvedBy, now, ReportStatus.APPROVED),
+                ReportStatus.APPROVED);
+    }
+
+    @EvictPublicFeedCaches
+    @Transactional
+    public int rejectMatching(ReportFilter filter, String rejectedBy) {
+        LocalDateTime now = LocalDateTime.now();
+        return forEachMatchingChunk(filter, chunk -> reportRepository.rejectAll(chunk, rejectedBy, now, ReportStatus.REJECTED),
+                ReportStatus.REJECTED);
+    }
+
+    @EvictPublicFeedCaches
+    @Transactional
+    public int deleteMatching(ReportFilter filter) {
+        return forEachMatchingChunk(filter, reportRepository::deleteAllByIds, null);
+    }
+
+    /**
+     * Runs {@code statement} over {@code ids} in chunks. {@code target} is the status the statement moves the
+     * reports to, or {@code null} if it deletes them.
+     */
+    private int forEachChunk(Collection<Long> ids, ToIntFunction<List<Long>> statement, ReportStatus target) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        int affected = 0;
+        for (int start = 0; start < distinctIds.size(); start += bulkChunkSize) {
+            List<Long> chunk = distinctIds.subList(start, Math.min(start + bulkChunkSize, distinctIds.size()));
+            affected += applyToChunk(chunk, statement, target);
+        }
+        return affected;
+    }
+
+    private int forEachMatchingChunk(ReportFilter filter, ToIntFunction<List<Long>> statement, ReportStatus target) {
+        if (filter.isEmpty()) {
+            throw new IllegalArgumentException("A bulk action by filter needs at least one criterion");
+        }
+        PageRequest chunkLimit = PageRequest.of(0, bulkChunkSize);
+        int affected = 0;
+        long afterId = 0;
+        List<Long> chunk;
+        do {
+            chunk = reportRepository.findIdsMatching(filter.getCategoryOrNull(), filter.getSourceOrNull(),
+                    filter.getStatus(), filter.getReportedFrom(), filter.getReportedUntil(), afterId, chunkLimit);
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1);
+                affected += applyToChunk(chunk, statement, target);
+            }
+        } while (chunk.size() == bulkChunkSize);
+        return affected;
+    }
+
+    private int applyToChunk(List<Long> chunk, ToIntFunction<List<Long>> statement, ReportStatus target) {
+        // Capture the current statuses before the statement overwrites them
+        List<Transition> transitions = new ArrayList<>();
+        for (ReportStatisticsKey key : reportRepository.findStatisticsKeysByIdIn(chunk)) {
+            if (key.getStatus() != target) {
+                transitions.add(new Transition(key.getId(), key.getCategory(), key.getNewsSource(), key.getReportedAt(),
+                        key.getStatus(), target));
+            }
+        }
+        int affected = statement.applyAsInt(chunk);
+        eventPublisher.publishEvent(target == null ? ReportChangedEvent.deleted(chunk) : ReportChangedEvent.moderated(chunk));
+        publishTransitions(transitions);
+        return affected;
+    }
+
+    private void publishTransitions(List<Transition> transitions) {
+        if (!transitions.isEmpty()) {
+            eventPublisher.publishEvent(new ReportStatusChangedEvent(transitions));
+        }
     }
 }
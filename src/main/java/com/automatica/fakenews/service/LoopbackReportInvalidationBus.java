@@ -0,0 +1,50 @@
+package com.automatica.fakenews.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process bus for databases without a notification mechanism (H2) and for tests: every message is handed
+ * to the subscribers of this JVM once the publishing transaction commits. A single instance therefore only
+ * hears its own messages, which subscribers ignore.
+ */
+public class LoopbackReportInvalidationBus implements ReportInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(LoopbackReportInvalidationBus.class);
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(ReportInvalidation invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(invalidation);
+                }
+            });
+        } else {
+            deliver(invalidation);
+        }
+    }
+
+    @Override
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    private void deliver(ReportInvalidation invalidation) {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.onInvalidation(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Report invalidation subscriber failed", e);
+            }
+        }
+    }
+}
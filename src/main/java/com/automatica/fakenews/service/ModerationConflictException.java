@@ -0,0 +1,31 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.dto.ReportSummary;
+
+/**
+ * Thrown when a moderation decision was taken on a stale view of a report: another moderator changed or
+ * deleted it in the meantime. Nothing has been written; the caller should show the current state and let
+ * the moderator decide again.
+ */
+public class ModerationConflictException extends RuntimeException {
+
+    private final Long reportId;
+    private final ReportSummary current;
+
+    public ModerationConflictException(Long reportId, ReportSummary current, String message) {
+        super(message);
+        this.reportId = reportId;
+        this.current = current;
+    }
+
+    public Long getReportId() {
+        return reportId;
+    }
+
+    /**
+     * The report as it is now, or {@code null} if it has been deleted.
+     */
+    public ReportSummary getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,83 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.dto.ReportSummary;
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.repository.FakeNewsReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Work queue for moderators. Instead of everybody working from the top of the same pending list, a moderator
+ * claims the next batch of unclaimed pending reports under a time-bound lease. Leases end when the report is
+ * moderated, when the moderator releases them, or when they expire.
+ */
+@Service
+public class ModerationQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(ModerationQueueService.class);
+
+    @Autowired
+    private FakeNewsReportRepository reportRepository;
+
+    @Value("${app.moderation.lease-duration:PT15M}")
+    private Duration leaseDuration = Duration.ofMinutes(15);
+
+    @Value("${app.moderation.max-claimed:50}")
+    private int maxClaimed = 50;
+
+    /**
+     * Claims up to {@code count} more of the oldest unclaimed pending reports for {@code moderator}, never holding
+     * more than {@code app.moderation.max-claimed} at once, and returns everything the moderator now holds.
+     */
+    @Transactional
+    public List<ReportSummary> claimNext(String moderator, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        int wanted = Math.min(count, maxClaimed - (int) reportRepository.countClaimedBy(moderator, now, ReportStatus.PENDING));
+        if (wanted > 0) {
+            List<Long> ids = reportRepository.lockClaimableIds(now, wanted);
+            if (!ids.isEmpty()) {
+                reportRepository.claim(ids, moderator, now.plus(leaseDuration), now, ReportStatus.PENDING);
+            }
+        }
+        return reportRepository.findClaimedBy(moderator, now, ReportStatus.PENDING);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportSummary> getClaimed(String moderator) {
+        return reportRepository.findClaimedBy(moderator, LocalDateTime.now(), ReportStatus.PENDING);
+    }
+
+    /**
+     * Hands every report claimed by {@code moderator} back to the queue.
+     */
+    @Transactional
+    public int release(String moderator) {
+        return reportRepository.releaseClaims(moderator);
+    }
+
+    /**
+     * Clears leases that ran out. Expired leases are already claimable again; this only keeps the claim columns
+     * from pointing at moderators who walked away.
+     */
+    @Scheduled(fixedDelayString = "${app.moderation.reclaim-interval:PT1M}")
+    @Transactional
+    public void reclaimExpiredLeases() {
+        int reclaimed = reportRepository.releaseExpiredClaims(LocalDateTime.now());
+        if (reclaimed > 0) {
+            log.info("Returned {} reports with expired leases to the moderation queue", reclaimed);
+        }
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+}
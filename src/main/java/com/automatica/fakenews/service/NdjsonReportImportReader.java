@@ -0,0 +1,56 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.dto.ReportForm;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Newline-delimited JSON: one object per line with {@code newsSource}, {@code url}, {@code category} and
+ * {@code description} properties, as written by the NDJSON export. Other properties are ignored, and a line
+ * that is not valid JSON only rejects that line.
+ */
+public class NdjsonReportImportReader implements ReportImportReader {
+
+    private final BufferedReader in;
+    private final ObjectReader formReader;
+    private long line;
+
+    public NdjsonReportImportReader(InputStream stream, ObjectMapper objectMapper) {
+        this.in = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8), 64 * 1024);
+        this.formReader = objectMapper.readerFor(ReportForm.class);
+    }
+
+    @Override
+    public ReportForm next() throws IOException {
+        String text;
+        do {
+            text = in.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        try {
+            return formReader.readValue(text);
+        } catch (JsonProcessingException e) {
+            throw new RowException("Invalid JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public long getLine() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,158 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.config.BackgroundThreads;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bus over PostgreSQL LISTEN/NOTIFY, so instances sharing a database need no separate broker.
+ * <p>
+ * Messages are sent with {@code pg_notify} on the caller's connection. Inside a transaction PostgreSQL holds
+ * the notification back until commit and drops it on rollback, so listeners never act on uncommitted changes.
+ * A dedicated listener thread keeps one connection of its own, outside the pool, subscribed to the channel and
+ * reconnects after failures; because notifications sent meanwhile are lost, subscribers are told to treat
+ * their state as stale after every reconnect.
+ */
+public class PostgresReportInvalidationBus implements ReportInvalidationBus, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresReportInvalidationBus.class);
+
+    static final String CHANNEL = "report_invalidation";
+
+    // How long one wait for notifications blocks; bounds how quickly the listener notices a shutdown
+    private static final int POLL_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource listenerConnections;
+    private final BackgroundThreads backgroundThreads;
+    private final Duration reconnectDelay;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    /**
+     * @param listenerConnections source of the listener's connection; should not be the application's pool,
+     *                            which would lose a connection for good
+     */
+    public PostgresReportInvalidationBus(JdbcTemplate jdbcTemplate, DataSource listenerConnections,
+                                         BackgroundThreads backgroundThreads, Duration reconnectDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.listenerConnections = listenerConnections;
+        this.backgroundThreads = backgroundThreads;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void publish(ReportInvalidation invalidation) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, invalidation.encode());
+    }
+
+    @Override
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = backgroundThreads.newThread("report-invalidation-listener", this::listenLoop);
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                listener.join(POLL_MILLIS * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        boolean listenedBefore = false;
+        while (running) {
+            try (Connection connection = listenerConnections.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (listenedBefore) {
+                    log.info("Listening for report invalidations again; treating cached report data as stale");
+                    subscribers.forEach(this::notifyMessagesLost);
+                }
+                listenedBefore = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Lost the report invalidation listener connection, reconnecting in {}", reconnectDelay, e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        ReportInvalidation invalidation;
+        try {
+            invalidation = ReportInvalidation.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed report invalidation '{}'", payload);
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.onInvalidation(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Report invalidation subscriber failed", e);
+            }
+        }
+    }
+
+    private void notifyMessagesLost(Subscriber subscriber) {
+        try {
+            subscriber.onMessagesLost();
+        } catch (RuntimeException e) {
+            log.warn("Report invalidation subscriber failed", e);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.automatica.fakenews.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Nightly job that keeps fake_news_reports down to pending and recently decided reports by moving decisions
+ * older than {@code app.archive.age} into the archive, in chunks of {@code app.archive.chunk-size}, each in its
+ * own transaction.
+ */
+@Service
+public class ReportArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportArchiveService.class);
+
+    @Autowired
+    private FakeNewsReportService reportService;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.archive.age:P180D}")
+    private Duration age = Duration.ofDays(180);
+
+    @Value("${app.archive.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * *}")
+    public void archiveOldDecisions() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minus(age);
+        long total = 0;
+        int moved;
+        do {
+            moved = reportService.archiveDecidedBefore(cutoff, chunkSize);
+            total += moved;
+        } while (moved == chunkSize);
+        if (total > 0) {
+            log.info("Archived {} reports decided before {} in {} ms", total, cutoff,
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.automatica.fakenews.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by {@link FakeNewsReportService} whenever reports are created, moderated, deleted or archived, so that
+ * derived data can follow the table once the change has been committed. Changes committed by another
+ * instance arrive through the {@link ReportInvalidationBus} and are published again locally as remote events.
+ */
+public class ReportChangedEvent {
+
+    private final List<Long> reportIds;
+    private final boolean deleted;
+    private final boolean moderated;
+    private final boolean archived;
+    private final boolean remote;
+
+    private ReportChangedEvent(Collection<Long> reportIds, boolean deleted, boolean moderated, boolean archived,
+                               boolean remote) {
+        this.reportIds = List.copyOf(reportIds);
+        this.deleted = deleted;
+        this.moderated = moderated;
+        this.archived = archived;
+        this.remote = remote;
+    }
+
+    public static ReportChangedEvent saved(Collection<Long> reportIds) {
+        return new ReportChangedEvent(reportIds, false, false, false, false);
+    }
+
+    /**
+     * Reports approved or rejected, i.e. changes that can alter what the public pages show.
+     */
+    public static ReportChangedEvent moderated(Collection<Long> reportIds) {
+        return new ReportChangedEvent(reportIds, false, true, false, false);
+    }
+
+    public static ReportChangedEvent deleted(Collection<Long> reportIds) {
+        return new ReportChangedEvent(reportIds, true, true, false, false);
+    }
+
+    /**
+     * Reports moved unchanged into the archive. They left the reports table but are still exported, searched
+     * and shown on the public feed.
+     */
+    public static ReportChangedEvent archived(Collection<Long> reportIds) {
+        return new ReportChangedEvent(reportIds, false, true, true, false);
+    }
+
+    /**
+     * A change committed by another instance of the application.
+     */
+    public static ReportChangedEvent remote(Collection<Long> reportIds, boolean deleted, boolean moderated,
+                                            boolean archived) {
+        return new ReportChangedEvent(reportIds, deleted, deleted || moderated || archived, archived, true);
+    }
+
+    public List<Long> getReportIds() {
+        return reportIds;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Whether the change was a moderation decision or a deletion rather than a new submission.
+     */
+    public boolean isModerated() {
+        return moderated;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+}
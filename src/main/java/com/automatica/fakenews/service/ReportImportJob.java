@@ -0,0 +1,165 @@
+package com.automatica.fakenews.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk import. Updated by the import worker and read concurrently by status requests.
+ */
+public class ReportImportJob {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String filename;
+    private final Format format;
+    private final long size;
+    private final int maxErrors;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String failure;
+
+    public ReportImportJob(String filename, Format format, long size, int maxErrors) {
+        this.filename = filename;
+        this.format = format;
+        this.size = size;
+        this.maxErrors = maxErrors;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Size of the uploaded file in bytes, compressed if it was uploaded compressed.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /**
+     * Share of the file read so far, from 0 to 100.
+     */
+    public int getPercentComplete() {
+        if (state == State.COMPLETED) {
+            return 100;
+        }
+        return size > 0 ? (int) Math.min(99, bytesRead.get() * 100 / size) : 0;
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getImported() {
+        return imported.get();
+    }
+
+    public long getDuplicates() {
+        return duplicates.get();
+    }
+
+    public long getInvalid() {
+        return invalid.get();
+    }
+
+    /**
+     * The first rejected rows with their line numbers and reasons.
+     */
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    void started() {
+        startedAt = LocalDateTime.now();
+        state = State.RUNNING;
+    }
+
+    void bytesRead(long count) {
+        bytesRead.addAndGet(count);
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void chunkImported(int inserted, int duplicated) {
+        imported.addAndGet(inserted);
+        duplicates.addAndGet(duplicated);
+    }
+
+    void rowRejected(long line, String reason) {
+        invalid.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add("Line " + line + ": " + reason);
+            }
+        }
+    }
+
+    void completed() {
+        finishedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    void failed(String reason) {
+        failure = reason;
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+}
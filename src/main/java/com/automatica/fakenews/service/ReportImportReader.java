@@ -0,0 +1,30 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.dto.ReportForm;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the reports of an uploaded import file one at a time, so that only the current row is in memory.
+ */
+public interface ReportImportReader extends Closeable {
+
+    /**
+     * @return the next report, or null at the end of the file
+     * @throws RowException if the current row cannot be parsed; reading can continue with the next row
+     */
+    ReportForm next() throws IOException;
+
+    /**
+     * Line of the file on which the row last returned (or rejected) by {@link #next()} starts.
+     */
+    long getLine();
+
+    class RowException extends IOException {
+
+        public RowException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
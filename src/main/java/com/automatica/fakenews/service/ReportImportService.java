@@ -0,0 +1,282 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.config.BackgroundThreads;
+import com.automatica.fakenews.dto.ReportForm;
+import com.automatica.fakenews.model.FakeNewsReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk import of pre-collected reports from CSV or NDJSON files, optionally gzip-compressed.
+ * <p>
+ * An upload is spooled to a temporary file and imported by a single background worker, one import at a time.
+ * The file is parsed as a stream, every row is validated with the same rules as the submission form, and
+ * valid rows are inserted in chunks of {@code app.import.chunk-size}, each in its own transaction with JDBC
+ * batching, leaving out URLs that have been reported before. Memory use therefore depends on the chunk size,
+ * not on the size of the file. If a chunk fails to insert, its rows are retried one by one so that a single
+ * bad row is reported instead of failing the import.
+ */
+@Service
+public class ReportImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportImportService.class);
+
+    @Autowired
+    private FakeNewsReportService reportService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BackgroundThreads backgroundThreads;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.import.max-errors:100}")
+    private int maxErrors = 100;
+
+    @Value("${app.import.retained-jobs:20}")
+    private int retainedJobs = 20;
+
+    private final Map<String, ReportImportJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService worker;
+
+    @PostConstruct
+    void init() {
+        worker = Executors.newSingleThreadExecutor(runnable -> backgroundThreads.newThread("report-import", runnable));
+    }
+
+    @PreDestroy
+    void close() {
+        // Chunks already inserted stay; the running import is marked failed at its next row
+        worker.shutdownNow();
+    }
+
+    /**
+     * Spools {@code content} to a temporary file and queues it for import.
+     *
+     * @param format {@code csv} or {@code ndjson}; when null it is taken from the file name extension
+     * @throws IllegalArgumentException if the format is unknown or cannot be told from the file name
+     */
+    public ReportImportJob startImport(String filename, String format, InputStream content) throws IOException {
+        ReportImportJob.Format importFormat = resolveFormat(format, filename);
+        Path file = Files.createTempFile("report-import-", ".upload");
+        try {
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+            ReportImportJob job = new ReportImportJob(filename, importFormat, Files.size(file), maxErrors);
+            jobs.put(job.getId(), job);
+            evictFinishedJobs();
+            worker.execute(() -> run(job, file));
+            return job;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    public Optional<ReportImportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Recent imports, newest first.
+     */
+    public List<ReportImportJob> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(ReportImportJob::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    void run(ReportImportJob job, Path file) {
+        job.started();
+        log.info("Importing reports from {} ({} bytes)", job.getFilename(), job.getSize());
+        try (ReportImportReader reader = openReader(job, file)) {
+            List<FakeNewsReport> chunk = new ArrayList<>(chunkSize);
+            List<Long> lines = new ArrayList<>(chunkSize);
+            while (true) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Import interrupted by shutdown");
+                }
+                ReportForm form;
+                try {
+                    form = reader.next();
+                } catch (ReportImportReader.RowException e) {
+                    job.rowRead();
+                    job.rowRejected(reader.getLine(), e.getMessage());
+                    continue;
+                }
+                if (form == null) {
+                    break;
+                }
+                job.rowRead();
+                Set<ConstraintViolation<ReportForm>> violations = validator.validate(form);
+                if (!violations.isEmpty()) {
+                    job.rowRejected(reader.getLine(), violations.stream()
+                            .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+                    continue;
+                }
+                chunk.add(toReport(form));
+                lines.add(reader.getLine());
+                if (chunk.size() == chunkSize) {
+                    insert(job, chunk, lines);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                insert(job, chunk, lines);
+            }
+            job.completed();
+            log.info("Imported {} reports from {} ({} duplicates, {} invalid rows)",
+                    job.getImported(), job.getFilename(), job.getDuplicates(), job.getInvalid());
+        } catch (IOException | RuntimeException e) {
+            job.failed(e.getMessage());
+            log.warn("Import of {} failed after {} rows", job.getFilename(), job.getRowsRead(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    private void insert(ReportImportJob job, List<FakeNewsReport> chunk, List<Long> lines) {
+        try {
+            int inserted = reportService.importReports(chunk).size();
+            job.chunkImported(inserted, chunk.size() - inserted);
+        } catch (RuntimeException chunkFailure) {
+            log.warn("Import chunk of {} reports failed, retrying individually", chunk.size(), chunkFailure);
+            for (int i = 0; i < chunk.size(); i++) {
+                FakeNewsReport report = chunk.get(i);
+                try {
+                    report.setId(null);
+                    int inserted = reportService.importReports(List.of(report)).size();
+                    job.chunkImported(inserted, 1 - inserted);
+                } catch (RuntimeException e) {
+                    job.rowRejected(lines.get(i), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+        } finally {
+            chunk.clear();
+            lines.clear();
+        }
+    }
+
+    private ReportImportReader openReader(ReportImportJob job, Path file) throws IOException {
+        InputStream in = new BufferedInputStream(new FilterInputStream(Files.newInputStream(file)) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    job.bytesRead(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int count = super.read(buffer, offset, length);
+                if (count > 0) {
+                    job.bytesRead(count);
+                }
+                return count;
+            }
+        }, 64 * 1024);
+        try {
+            if (isGzip(in)) {
+                in = new GZIPInputStream(in, 64 * 1024);
+            }
+            return job.getFormat() == ReportImportJob.Format.CSV
+                    ? new CsvReportImportReader(in)
+                    : new NdjsonReportImportReader(in, objectMapper);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static boolean isGzip(InputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return first == 0x1f && second == 0x8b;
+    }
+
+    private static FakeNewsReport toReport(ReportForm form) {
+        FakeNewsReport report = new FakeNewsReport();
+        report.setNewsSource(form.getNewsSource());
+        report.setUrl(form.getUrl());
+        report.setCategory(form.getCategory());
+        report.setDescription(form.getDescription());
+        return report;
+    }
+
+    static ReportImportJob.Format resolveFormat(String format, String filename) {
+        String name = format != null && !format.isBlank() ? format : extensionOf(filename);
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "csv":
+                return ReportImportJob.Format.CSV;
+            case "ndjson":
+            case "jsonl":
+            case "json":
+                return ReportImportJob.Format.NDJSON;
+            default:
+                throw new IllegalArgumentException(format != null && !format.isBlank()
+                        ? "Unsupported import format: " + format
+                        : "Cannot tell the format of " + filename + "; pass format=csv or format=ndjson");
+        }
+    }
+
+    private static String extensionOf(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        String name = filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 ? name.substring(dot + 1) : "";
+    }
+
+    private void evictFinishedJobs() {
+        List<ReportImportJob> finished = getJobs().stream().filter(ReportImportJob::isFinished).toList();
+        for (int i = retainedJobs; i < finished.size(); i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.config.BackgroundThreads;
+import com.automatica.fakenews.model.FakeNewsReport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point for public report submissions.
+ * <p>
+ * In synchronous mode (the default) every submission is saved immediately. With {@code app.ingestion.async}
+ * enabled, submissions are put on a bounded queue and a single writer thread flushes them to the database in
+ * batches, so a burst of submissions costs a few batched INSERTs instead of one transaction per request.
+ * When the queue is full the submission is rejected instead of blocking the request thread. On shutdown the
+ * writer stops accepting work and drains whatever is still queued.
+ */
+@Service
+public class ReportIngestionService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportIngestionService.class);
+
+    @Autowired
+    private FakeNewsReportService reportService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BackgroundThreads backgroundThreads;
+
+    @Value("${app.ingestion.async:false}")
+    private boolean async;
+
+    @Value("${app.ingestion.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.ingestion.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.ingestion.flush-interval:200ms}")
+    private Duration flushInterval;
+
+    @Value("${app.ingestion.shutdown-timeout:30s}")
+    private Duration shutdownTimeout;
+
+    private BlockingQueue<FakeNewsReport> queue;
+    private Thread writer;
+    private volatile boolean accepting;
+
+    public void submit(FakeNewsReport report) {
+        if (!async) {
+            reportService.saveReport(report);
+            countSubmission("accepted");
+            return;
+        }
+        if (!accepting) {
+            countSubmission("rejected");
+            throw new SubmissionRejectedException("Report ingestion is shutting down");
+        }
+        if (!queue.offer(report)) {
+            countSubmission("rejected");
+            throw new SubmissionRejectedException("Report ingestion queue is full");
+        }
+        countSubmission("accepted");
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public int getQueueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    @Override
+    public void start() {
+        if (!async || isRunning()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        accepting = true;
+        writer = backgroundThreads.newThread("report-ingestion-writer", this::writeLoop);
+        writer.start();
+        log.info("Asynchronous report ingestion started (capacity {}, batch size {})", queueCapacity, batchSize);
+    }
+
+    @Override
+    public void stop() {
+        if (!isRunning()) {
+            return;
+        }
+        accepting = false;
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Report ingestion writer did not drain within {}, {} submissions lost",
+                    shutdownTimeout, queue.size());
+            writer.interrupt();
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop after the web server so that no request can enqueue once the final drain has started
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void writeLoop() {
+        List<FakeNewsReport> batch = new ArrayList<>(batchSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                FakeNewsReport first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void countSubmission(String outcome) {
+        Counter.builder("fakenews.submissions")
+                .description("Public report submissions by whether they were accepted")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    void flush(List<FakeNewsReport> batch) {
+        try {
+            reportService.saveReports(batch);
+        } catch (RuntimeException batchFailure) {
+            // Retry one by one so that a single bad row does not take the rest of the batch down with it. Each
+            // duplicate is counted again by saveReport, so drop whatever the failed batch folded into the reports.
+            log.warn("Batch insert of {} reports failed, retrying individually", batch.size(), batchFailure);
+            for (FakeNewsReport report : batch) {
+                try {
+                    report.setId(null);
+                    report.setDuplicateCount(0);
+                    report.setCanonicalUrlHash(null);
+                    reportService.saveReport(report);
+                } catch (RuntimeException e) {
+                    log.error("Dropping report submission for {}", report.getUrl(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.automatica.fakenews.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Message sent between instances when reports were changed: which instance committed the change, whether the
+ * reports were submitted (S), moderated (M), deleted (D) or archived (A), and their ids. Encoded as one short line of text,
+ * e.g. {@code 3f2a...:M:12,13,14}, to fit comfortably in a PostgreSQL notification payload.
+ */
+public class ReportInvalidation {
+
+    /**
+     * Ids per message; keeps the payload well below PostgreSQL's 8000-byte notification limit.
+     */
+    public static final int MAX_IDS = 300;
+
+    private final String origin;
+    private final boolean deleted;
+    private final boolean moderated;
+    private final boolean archived;
+    private final List<Long> reportIds;
+
+    public ReportInvalidation(String origin, boolean deleted, boolean moderated, boolean archived, List<Long> reportIds) {
+        this.origin = origin;
+        this.deleted = deleted;
+        this.moderated = deleted || moderated || archived;
+        this.archived = archived;
+        this.reportIds = List.copyOf(reportIds);
+    }
+
+    /**
+     * Splits a change into messages of at most {@link #MAX_IDS} ids.
+     */
+    public static List<ReportInvalidation> of(String origin, boolean deleted, boolean moderated, boolean archived,
+                                              List<Long> reportIds) {
+        List<ReportInvalidation> messages = new ArrayList<>();
+        for (int start = 0; start < reportIds.size(); start += MAX_IDS) {
+            messages.add(new ReportInvalidation(origin, deleted, moderated, archived,
+                    reportIds.subList(start, Math.min(start + MAX_IDS, reportIds.size()))));
+        }
+        return messages;
+    }
+
+    public static ReportInvalidation decode(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed report invalidation: " + payload);
+        }
+        List<Long> ids = new ArrayList<>();
+        if (!parts[2].isEmpty()) {
+            for (String id : parts[2].split(",")) {
+                ids.add(Long.valueOf(id));
+            }
+        }
+        return new ReportInvalidation(parts[0], "D".equals(parts[1]), "M".equals(parts[1]), "A".equals(parts[1]), ids);
+    }
+
+    public String encode() {
+        StringBuilder payload = new StringBuilder(origin).append(':').append(deleted ? 'D' : archived ? 'A' : moderated ? 'M' : 'S').append(':');
+        for (int i = 0; i < reportIds.size(); i++) {
+            if (i > 0) {
+                payload.append(',');
+            }
+            payload.append(reportIds.get(i));
+        }
+        return payload.toString();
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public boolean isModerated() {
+        return moderated;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public List<Long> getReportIds() {
+        return reportIds;
+    }
+}
@@ -0,0 +1,23 @@
+package com.automatica.fakenews.service;
+
+/**
+ * Carries {@link ReportInvalidation} messages between the instances of the application that share a database.
+ * Messages published inside a transaction are delivered only if, and once, it commits.
+ */
+public interface ReportInvalidationBus {
+
+    void publish(ReportInvalidation invalidation);
+
+    void subscribe(Subscriber subscriber);
+
+    interface Subscriber {
+
+        void onInvalidation(ReportInvalidation invalidation);
+
+        /**
+         * Called after the bus was disconnected for a while: messages may have been missed, so everything
+         * derived from the reports table should be treated as stale.
+         */
+        void onMessagesLost();
+    }
+}
@@ -0,0 +1,226 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.model.FakeNewsReport;
+import com.automatica.fakenews.model.ReportStatus;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded Lucene index over report sources, URLs and descriptions. Each report is one document keyed by its
+ * id; category and status are indexed as exact terms so they can be used as filters. Writes become visible to
+ * searches after {@link #refresh()}.
+ */
+public class ReportSearchIndex implements Closeable {
+
+    static final String ID = "id";
+    static final String ID_SORT = "id_sort";
+    static final String SOURCE = "source";
+    static final String URL = "url";
+    static final String DESCRIPTION = "description";
+    static final String CATEGORY = "category";
+    static final String STATUS = "status";
+
+    private static final Pattern URL_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Map<String, Float> SEARCH_FIELDS = Map.of(SOURCE, 2.0f, URL, 1.5f, DESCRIPTION, 1.0f);
+
+    private final Directory directory;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    /**
+     * Opens an index in {@code path}, or in memory when {@code path} is null.
+     */
+    public ReportSearchIndex(Path path) {
+        try {
+            directory = path != null ? FSDirectory.open(path) : new ByteBuffersDirectory();
+            writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the search index", e);
+        }
+    }
+
+    public void index(Collection<FakeNewsReport> reports) {
+        try {
+            for (FakeNewsReport report : reports) {
+                writer.updateDocument(idTerm(report.getId()), toDocument(report));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(Collection<Long> ids) {
+        try {
+            for (Long id : ids) {
+                writer.deleteDocuments(idTerm(id));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void commit() {
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the ids of the best matches for {@code text}, skipping the first {@code offset} hits. Blank text
+     * matches every report, newest first. {@code category} and {@code status} are optional exact filters.
+     */
+    public Hits search(String text, String category, ReportStatus status, int offset, int limit) {
+        boolean hasText = text != null && !text.isBlank();
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(hasText ? parse(text) : new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        if (category != null) {
+            query.add(new TermQuery(new Term(CATEGORY, category)), BooleanClause.Occur.FILTER);
+        }
+        if (status != null) {
+            query.add(new TermQuery(new Term(STATUS, status.name())), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = hasText
+                        ? searcher.search(query.build(), offset + limit)
+                        : searcher.search(query.build(), offset + limit, new Sort(new SortField(ID_SORT, SortField.Type.LONG, true)));
+                List<Long> ids = new ArrayList<>(limit);
+                StoredFields storedFields = searcher.storedFields();
+                ScoreDoc[] docs = top.scoreDocs;
+                for (int i = offset; i < docs.length; i++) {
+                    ids.add(Long.valueOf(storedFields.document(docs[i].doc, Set.of(ID)).get(ID)));
+                }
+                return new Hits(ids, top.totalHits.value, top.totalHits.relation == TotalHits.Relation.EQUAL_TO);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query parse(String text) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, SEARCH_FIELDS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query query = parser.parse(text);
+        // Null when the text consists only of operators or stop words
+        return query != null ? query : new MatchNoDocsQuery();
+    }
+
+    private static Term idTerm(Long id) {
+        return new Term(ID, id.toString());
+    }
+
+    private static Document toDocument(FakeNewsReport report) {
+        Document document = new Document();
+        document.add(new StringField(ID, report.getId().toString(), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_SORT, report.getId()));
+        document.add(new TextField(SOURCE, report.getNewsSource(), Field.Store.NO));
+        document.add(new TextField(URL, report.getUrl(), Field.Store.NO));
+        // The analyzer keeps host names and paths together; also index their individual words
+        document.add(new TextField(URL, URL_SEPARATORS.matcher(report.getUrl()).replaceAll(" "), Field.Store.NO));
+        if (report.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, report.getDescription(), Field.Store.NO));
+        }
+        document.add(new StringField(CATEGORY, report.getCategory(), Field.Store.NO));
+        document.add(new StringField(STATUS, report.getStatus().name(), Field.Store.NO));
+        return document;
+    }
+
+    /**
+     * Matching report ids in rank order, plus the total number of matches; the total is a lower bound
+     * when {@code exact} is false.
+     */
+    public static class Hits {
+
+        private final List<Long> ids;
+        private final long total;
+        private final boolean exact;
+
+        Hits(List<Long> ids, long total, boolean exact) {
+            this.ids = ids;
+            this.total = total;
+            this.exact = exact;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public boolean isExact() {
+            return exact;
+        }
+    }
+}
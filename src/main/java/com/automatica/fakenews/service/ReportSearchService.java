@@ -0,0 +1,243 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.config.BackgroundThreads;
+import com.automatica.fakenews.config.ReplicaRoutingDataSource;
+import com.automatica.fakenews.dto.ReportSearchResults;
+import com.automatica.fakenews.dto.ReportSummary;
+import com.automatica.fakenews.model.FakeNewsReport;
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.repository.FakeNewsReportRepository;
+import com.automatica.fakenews.repository.ReportArchiveRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over reports, archived ones included. The index is rebuilt from the reports table in
+ * parallel and then from the archive once the application has started, and afterwards follows every committed
+ * {@link ReportChangedEvent}; archiving leaves a report's document as it is. All index writes happen on a
+ * single indexer thread, in commit order, and always index the current row, so the index converges on the
+ * table even when changes arrive while the rebuild is still running.
+ */
+@Service
+public class ReportSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportSearchService.class);
+
+    @Autowired
+    private FakeNewsReportRepository reportRepository;
+
+    @Autowired
+    private ReportArchiveRepository archiveRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BackgroundThreads backgroundThreads;
+
+    @Value("${app.search.index-path:}")
+    private String indexPath;
+
+    @Value("${app.search.rebuild-threads:0}")
+    private int rebuildThreads;
+
+    @Value("${app.search.rebuild-chunk-size:1000}")
+    private int rebuildChunkSize;
+
+    @Value("${app.feed.default-page-size:20}")
+    private int defaultPageSize = 20;
+
+    @Value("${app.feed.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    @Value("${app.search.max-results:10000}")
+    private int maxResults = 10_000;
+
+    private ReportSearchIndex index;
+    private ExecutorService indexer;
+    private TransactionTemplate readOnlyTransaction;
+    private volatile boolean ready;
+
+    @PostConstruct
+    void init() {
+        index = new ReportSearchIndex(indexPath.isBlank() ? null : Path.of(indexPath));
+        indexer = Executors.newSingleThreadExecutor(runnable -> backgroundThreads.newThread("search-indexer", runnable));
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void close() throws IOException, InterruptedException {
+        indexer.shutdown();
+        if (!indexer.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Search indexer did not finish pending updates before shutdown");
+            indexer.shutdownNow();
+        }
+        index.commit();
+        index.close();
+    }
+
+    @Transactional(readOnly = true)
+    public ReportSearchResults search(String text, String category, ReportStatus status, int page, Integer requestedSize) {
+        int size = requestedSize == null || requestedSize < 1 ? defaultPageSize : Math.min(requestedSize, maxPageSize);
+        int safePage = Math.max(0, page);
+        String categoryFilter = category == null || category.isBlank() ? null : category.trim();
+
+        // Lucene collects offset + size hits, so pages past the first maxResults hits come back empty
+        int offset = (int) Math.min((long) safePage * size, maxResults);
+        ReportSearchIndex.Hits hits = index.search(text, categoryFilter, status, offset, Math.min(size, maxResults - offset));
+        List<ReportSummary> items = new ArrayList<>(hits.getIds().size());
+        if (!hits.getIds().isEmpty()) {
+            Map<Long, ReportSummary> byId = reportRepository.findSummariesByIdIn(hits.getIds()).stream()
+                    .collect(Collectors.toMap(ReportSummary::getId, Function.identity()));
+            if (byId.size() < hits.getIds().size()) {
+                List<Long> missing = hits.getIds().stream().filter(id -> !byId.containsKey(id)).toList();
+                archiveRepository.findSummariesByIdIn(missing).forEach(summary -> byId.put(summary.getId(), summary));
+            }
+            for (Long id : hits.getIds()) {
+                ReportSummary summary = byId.get(id);
+                // Missing when the report was deleted after the index was last refreshed
+                if (summary != null) {
+                    items.add(summary);
+                }
+            }
+        }
+        return new ReportSearchResults(items, safePage, size, hits.getTotal(), hits.isExact(), ready, maxResults);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRebuild() {
+        indexer.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        indexer.execute(() -> apply(event));
+    }
+
+    void apply(ReportChangedEvent event) {
+        try {
+            if (event.isArchived()) {
+                // Archived reports are unchanged and stay searchable
+                return;
+            }
+            if (event.isDeleted()) {
+                index.delete(event.getReportIds());
+            } else {
+                // On the primary, or a lagging replica would make just-saved reports look deleted
+                List<FakeNewsReport> reports = ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(
+                        status -> reportRepository.findAllById(event.getReportIds())));
+                index.index(reports);
+                Set<Long> gone = new HashSet<>(event.getReportIds());
+                reports.forEach(report -> gone.remove(report.getId()));
+                index.delete(gone);
+            }
+            index.refresh();
+        } catch (RuntimeException e) {
+            log.warn("Could not update the search index for reports {}", event.getReportIds(), e);
+        }
+    }
+
+    void rebuild() {
+        long started = System.nanoTime();
+        index.deleteAll();
+        Long maxId = readOnlyTransaction.execute(status -> reportRepository.findMaxId());
+        int threads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        long indexed = 0;
+
+        if (maxId != null) {
+            // Split the id range into one slice per thread; each slice is read in keyset-ordered chunks
+            long sliceSize = maxId / threads + 1;
+            ExecutorService workers = Executors.newFixedThreadPool(threads, backgroundThreads.threadFactory("search-rebuild-"));
+            try {
+                List<Future<Long>> slices = new ArrayList<>(threads);
+                for (int i = 0; i < threads; i++) {
+                    long afterId = i * sliceSize;
+                    long untilId = Math.min(maxId, (i + 1) * sliceSize);
+                    slices.add(workers.submit(() -> indexSlice(afterId, untilId)));
+                }
+                for (Future<Long> slice : slices) {
+                    indexed += slice.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Rebuilding the search index failed", e.getCause());
+                return;
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+
+        indexed += indexArchive();
+        index.commit();
+        index.refresh();
+        ready = true;
+        log.info("Indexed {} reports for search in {} ms using {} threads",
+                indexed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), threads);
+    }
+
+    private long indexArchive() {
+        long indexed = 0;
+        long cursor = 0;
+        List<FakeNewsReport> chunk;
+        do {
+            chunk = archiveRepository.findRangeForIndexing(cursor, rebuildChunkSize);
+            if (!chunk.isEmpty()) {
+                index.index(chunk);
+                cursor = chunk.get(chunk.size() - 1).getId();
+                indexed += chunk.size();
+            }
+        } while (chunk.size() == rebuildChunkSize);
+        return indexed;
+    }
+
+    private long indexSlice(long afterId, long untilId) {
+        long indexed = 0;
+        long cursor = afterId;
+        List<FakeNewsReport> chunk;
+        do {
+            long from = cursor;
+            chunk = readOnlyTransaction.execute(status ->
+                    reportRepository.findRangeForIndexing(from, untilId, PageRequest.of(0, rebuildChunkSize)));
+            if (!chunk.isEmpty()) {
+                index.index(chunk);
+                cursor = chunk.get(chunk.size() - 1).getId();
+                indexed += chunk.size();
+            }
+        } while (chunk.size() == rebuildChunkSize);
+        return indexed;
+    }
+}
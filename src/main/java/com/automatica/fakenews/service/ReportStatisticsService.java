@@ -0,0 +1,428 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.config.ReplicaRoutingDataSource;
+import com.automatica.fakenews.dto.StatisticsRow;
+import com.automatica.fakenews.model.ReportStatistic;
+import com.automatica.fakenews.model.ReportStatisticId;
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.model.StatisticsReconciliation;
+import com.automatica.fakenews.model.StatisticsDimension;
+import com.automatica.fakenews.repository.AdvisoryLockRepository;
+import com.automatica.fakenews.repository.FakeNewsReportRepository;
+import com.automatica.fakenews.repository.ReportStatisticRepository;
+import com.automatica.fakenews.repository.StatisticsReconciliationRepository;
+import com.automatica.fakenews.service.ReportStatusChangedEvent.Transition;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Report counts per category, source and submission day, kept up to date without scanning the reports table.
+ * Committed {@link ReportStatusChangedEvent}s are added to striped in-memory counters, which a scheduled job
+ * flushes into {@code report_statistics} as deltas. Reads combine the table with the not yet flushed deltas.
+ * A nightly reconciliation recomputes the table from the reports to correct any drift, e.g. from changes
+ * lost in a crash before they were flushed.
+ * <p>
+ * Several instances may share the database. Reconciliation runs on one of them at a time and excludes
+ * flushes on all of them. The reconciling instance separates its unflushed changes exactly: commits that change
+ * statuses wait while the recount starts, everything recorded until then is dropped because the recount includes
+ * it, and everything recorded afterwards is flushed as usual. Other instances drop the changes they observed
+ * before the reconciliation time.
+ */
+@Service
+public class ReportStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportStatisticsService.class);
+
+    // Arbitrary advisory lock keys: flushes hold the first in shared mode, a reconciliation exclusively; the
+    // second picks the instance that reconciles
+    private static final long STATISTICS_LOCK_KEY = 0x5374617473466c75L;
+    private static final long RECONCILIATION_LOCK_KEY = 0x5374617473526563L;
+
+    private static final int FLUSH_ATTEMPTS = 2;
+
+    @Autowired
+    private ReportStatisticRepository statisticRepository;
+
+    @Autowired
+    private StatisticsReconciliationRepository reconciliationRepository;
+
+    @Autowired
+    private FakeNewsReportRepository reportRepository;
+
+    @Autowired
+    private AdvisoryLockRepository advisoryLocks;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Unflushed changes, bucketed by the second in which they were observed
+    private final Map<Long, PendingBucket> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Held shared from just before a status change commits until it is recorded, exclusively while a recount starts
+    private final ReentrantReadWriteLock commitGate = new ReentrantReadWriteLock();
+    // Time of the last reconciliation run by this instance, which needs no filtering by time on flush
+    private volatile LocalDateTime ownReconciledAt;
+    private TransactionTemplate transaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        transaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Records the changes once the publishing transaction commits, or right away outside a transaction.
+     */
+    @EventListener
+    public void onStatusChanged(ReportStatusChangedEvent event) {
+        Map<ReportStatisticId, Long> changes = new HashMap<>();
+        for (Transition transition : event.getTransitions()) {
+            if (transition.getFrom() != null) {
+                add(changes, transition, transition.getFrom(), -1);
+            }
+            if (transition.getTo() != null) {
+                add(changes, transition, transition.getTo(), 1);
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new RecordOnCommit(changes));
+        } else {
+            record(changes, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Counts for one dimension, merged with the changes not yet flushed. Categories are sorted by name,
+     * sources by number of reports and days newest first. {@code limit} caps the number of rows returned.
+     */
+    public List<StatisticsRow> getStatistics(StatisticsDimension dimension, int limit) {
+        Map<String, StatisticsRow> rows = new HashMap<>();
+        // On the primary: right after a flush the pending changes are gone and a lagging replica would miss them
+        List<ReportStatistic> stored = ReplicaRoutingDataSource.onPrimary(() ->
+                readOnlyTransaction.execute(status -> statisticRepository.findByIdDimension(dimension)));
+        for (ReportStatistic statistic : stored) {
+            ReportStatisticId id = statistic.getId();
+            rows.computeIfAbsent(id.getDimensionValue(), StatisticsRow::new).add(id.getStatus(), statistic.getReportCount());
+        }
+        for (PendingBucket bucket : pending.values()) {
+            bucket.deltas.forEach((id, delta) -> {
+                if (id.getDimension() == dimension) {
+                    rows.computeIfAbsent(id.getDimensionValue(), StatisticsRow::new).add(id.getStatus(), delta.sum());
+                }
+            });
+        }
+
+        return rows.values().stream()
+                .filter(row -> row.getTotal() > 0)
+                .sorted(order(dimension))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Number of reports per status across all reports.
+     */
+    public Map<ReportStatus, Long> getTotals() {
+        Map<ReportStatus, Long> totals = new EnumMap<>(ReportStatus.class);
+        // Every report has exactly one category, so the category rows add up to the whole table
+        for (StatisticsRow row : getStatistics(StatisticsDimension.CATEGORY, Integer.MAX_VALUE)) {
+            totals.merge(ReportStatus.PENDING, row.getPending(), Long::sum);
+            totals.merge(ReportStatus.APPROVED, row.getApproved(), Long::sum);
+            totals.merge(ReportStatus.REJECTED, row.getRejected(), Long::sum);
+        }
+        for (ReportStatus status : ReportStatus.values()) {
+            totals.putIfAbsent(status, 0L);
+        }
+        return totals;
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.flush-interval:PT10S}", initialDelayString = "${app.stats.flush-interval:PT10S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<PendingBucket> buckets = drain(bucket -> true);
+            if (buckets.isEmpty()) {
+                return;
+            }
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transaction.executeWithoutResult(status -> write(buckets));
+                    return;
+                } catch (DataIntegrityViolationException e) {
+                    if (attempt < FLUSH_ATTEMPTS) {
+                        // Another instance inserted one of the rows first; it is updated on the next attempt
+                        continue;
+                    }
+                    restore(buckets);
+                    log.warn("Could not flush report statistics, will retry", e);
+                    return;
+                } catch (RuntimeException e) {
+                    restore(buckets);
+                    log.warn("Could not flush report statistics, will retry", e);
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the statistics table with counts computed from the reports table and the archive. Skipped while
+     * another instance is reconciling.
+     */
+    @Scheduled(cron = "${app.stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        flushLock.lock();
+        try {
+            long started = System.nanoTime();
+            List<PendingBucket> counted = new ArrayList<>();
+            LocalDateTime reconciledAt;
+            try {
+                reconciledAt = transaction.execute(status -> {
+                    long clockOffset = databaseClockOffset();
+                    if (!advisoryLocks.tryLock(RECONCILIATION_LOCK_KEY)) {
+                        return null;
+                    }
+                    // Waits for running flushes and keeps new ones out until the recount has replaced the table
+                    advisoryLocks.lock(STATISTICS_LOCK_KEY);
+                    long observedUntil;
+                    List<ReportStatistic> counts;
+                    commitGate.writeLock().lock();
+                    try {
+                        // Every change recorded so far committed before the count statement starts and every
+                        // later one commits after it has started, so the recount includes exactly the former
+                        counted.addAll(drain(bucket -> true));
+                        observedUntil = System.currentTimeMillis();
+                        counts = statisticRepository.countReports().stream()
+                                .map(count -> new ReportStatistic(new ReportStatisticId(count.getDimension(),
+                                        count.getDimensionValue(), count.getStatus()), count.getReportCount()))
+                                .toList();
+                    } finally {
+                        commitGate.writeLock().unlock();
+                    }
+                    statisticRepository.deleteAllInBatch();
+                    statisticRepository.saveAll(counts);
+                    LocalDateTime countedAt = new Timestamp(observedUntil + clockOffset).toLocalDateTime();
+                    reconciliationRepository.save(new StatisticsReconciliation(countedAt));
+                    return countedAt;
+                });
+            } catch (RuntimeException e) {
+                restore(counted);
+                throw e;
+            }
+            if (reconciledAt == null) {
+                log.info("Skipped reconciling report statistics, another instance is reconciling");
+                return;
+            }
+            ownReconciledAt = reconciledAt;
+            log.info("Reconciled report statistics in {} ms", (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIfEmpty() {
+        if (statisticRepository.count() == 0 && reportRepository.count() > 0) {
+            reconcile();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Applies the drained changes, except those that the last reconciliation on another instance already counted.
+     * After a reconciliation on this instance the drained changes all came after the recount.
+     */
+    private void write(List<PendingBucket> buckets) {
+        long clockOffset = databaseClockOffset();
+        advisoryLocks.lockShared(STATISTICS_LOCK_KEY);
+        long reconciledUntil = reconciliationRepository.findById(StatisticsReconciliation.ID)
+                .map(StatisticsReconciliation::getReconciledAt)
+                .filter(reconciledAt -> !reconciledAt.equals(ownReconciledAt))
+                .map(reconciledAt -> Timestamp.valueOf(reconciledAt).getTime() - clockOffset)
+                .orElse(Long.MIN_VALUE);
+        Map<ReportStatisticId, Long> deltas = new LinkedHashMap<>();
+        for (PendingBucket bucket : buckets) {
+            if (bucket.lastObservedAt() > reconciledUntil) {
+                bucket.deltas.forEach((id, delta) -> deltas.merge(id, delta.sum(), Long::sum));
+            }
+        }
+        deltas.forEach((id, delta) -> {
+            if (delta != 0 && statisticRepository.increment(id, delta) == 0) {
+                statisticRepository.saveAndFlush(new ReportStatistic(id, delta));
+            }
+        });
+    }
+
+    /**
+     * Database time minus local time in milliseconds, to compare reconciliation times between instances.
+     */
+    private long databaseClockOffset() {
+        long local = System.currentTimeMillis();
+        return Timestamp.valueOf(statisticRepository.currentDatabaseTime()).getTime() - local;
+    }
+
+    private void restore(List<PendingBucket> buckets) {
+        // Keep the changes so the next flush retries them
+        buckets.forEach(bucket -> record(bucket.totals(), bucket.lastObservedAt()));
+    }
+
+    private void record(Map<ReportStatisticId, Long> changes, long observedAt) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        long second = observedAt / 1000;
+        while (true) {
+            PendingBucket bucket = pending.computeIfAbsent(second, key -> new PendingBucket());
+            if (bucket.add(changes, observedAt)) {
+                return;
+            }
+            // Drained in the meantime; a fresh bucket takes the changes
+            pending.remove(second, bucket);
+        }
+    }
+
+    /**
+     * Removes the buckets matching {@code filter}. They are closed first, so no change can be added to them
+     * afterwards and go missing.
+     */
+    private List<PendingBucket> drain(Predicate<PendingBucket> filter) {
+        List<PendingBucket> drained = new ArrayList<>();
+        pending.forEach((second, bucket) -> {
+            if (filter.test(bucket)) {
+                bucket.close();
+                pending.remove(second, bucket);
+                drained.add(bucket);
+            }
+        });
+        return drained;
+    }
+
+    private static void add(Map<ReportStatisticId, Long> changes, Transition transition, ReportStatus status, long delta) {
+        changes.merge(new ReportStatisticId(StatisticsDimension.CATEGORY, transition.getCategory(), status), delta, Long::sum);
+        changes.merge(new ReportStatisticId(StatisticsDimension.SOURCE, transition.getSource(), status), delta, Long::sum);
+        changes.merge(new ReportStatisticId(StatisticsDimension.DAY, transition.getDay().toString(), status), delta, Long::sum);
+    }
+
+    private static Comparator<StatisticsRow> order(StatisticsDimension dimension) {
+        return switch (dimension) {
+            case CATEGORY -> Comparator.comparing(StatisticsRow::getValue);
+            case SOURCE -> Comparator.comparingLong(StatisticsRow::getTotal).reversed()
+                    .thenComparing(StatisticsRow::getValue);
+            case DAY -> Comparator.comparing(StatisticsRow::getValue).reversed();
+        };
+    }
+
+    /**
+     * Records the changes of one transaction after it commits. The commit gate is entered before the commit, so
+     * a recount starting meanwhile waits until the changes are recorded and counts them.
+     */
+    private final class RecordOnCommit implements TransactionSynchronization {
+
+        private final Map<ReportStatisticId, Long> changes;
+        private boolean gateEntered;
+
+        RecordOnCommit(Map<ReportStatisticId, Long> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitGate.readLock().lock();
+            gateEntered = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            record(changes, System.currentTimeMillis());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (gateEntered) {
+                gateEntered = false;
+                commitGate.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Changes observed within one second. Adding takes a shared lock and closing an exclusive one, so once a
+     * bucket is closed its counters are final.
+     */
+    private static final class PendingBucket {
+
+        final Map<ReportStatisticId, LongAdder> deltas = new ConcurrentHashMap<>();
+        private final AtomicLong lastObservedAt = new AtomicLong(Long.MIN_VALUE);
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private boolean closed;
+
+        boolean add(Map<ReportStatisticId, Long> changes, long observedAt) {
+            lock.readLock().lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                changes.forEach((id, delta) -> deltas.computeIfAbsent(id, key -> new LongAdder()).add(delta));
+                lastObservedAt.accumulateAndGet(observedAt, Math::max);
+                return true;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void close() {
+            lock.writeLock().lock();
+            try {
+                closed = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        long lastObservedAt() {
+            return lastObservedAt.get();
+        }
+
+        Map<ReportStatisticId, Long> totals() {
+            Map<ReportStatisticId, Long> totals = new HashMap<>();
+            deltas.forEach((id, delta) -> totals.put(id, delta.sum()));
+            return totals;
+        }
+    }
+}
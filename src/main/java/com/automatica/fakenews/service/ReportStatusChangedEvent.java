@@ -0,0 +1,74 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.model.FakeNewsReport;
+import com.automatica.fakenews.model.ReportStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Status transitions made by one call into {@link FakeNewsReportService}, identifying each report together with
+ * the attributes that statistics are broken down by. A {@code null} previous status stands for a new report, a {@code null}
+ * new status for a deleted one.
+ */
+public class ReportStatusChangedEvent {
+
+    private final List<Transition> transitions;
+
+    public ReportStatusChangedEvent(List<Transition> transitions) {
+        this.transitions = List.copyOf(transitions);
+    }
+
+    public List<Transition> getTransitions() {
+        return transitions;
+    }
+
+    public static class Transition {
+
+        private final Long reportId;
+        private final String category;
+        private final String source;
+        private final LocalDate day;
+        private final ReportStatus from;
+        private final ReportStatus to;
+
+        public Transition(Long reportId, String category, String source, LocalDateTime reportedAt,
+                          ReportStatus from, ReportStatus to) {
+            this.reportId = reportId;
+            this.category = category;
+            this.source = source;
+            this.day = reportedAt.toLocalDate();
+            this.from = from;
+            this.to = to;
+        }
+
+        public static Transition of(FakeNewsReport report, ReportStatus from, ReportStatus to) {
+            return new Transition(report.getId(), report.getCategory(), report.getNewsSource(), report.getReportedAt(), from, to);
+        }
+
+        public Long getReportId() {
+            return reportId;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public LocalDate getDay() {
+            return day;
+        }
+
+        public ReportStatus getFrom() {
+            return from;
+        }
+
+        public ReportStatus getTo() {
+            return to;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.automatica.fakenews.service;
+
+/**
+ * Thrown when a report submission cannot be accepted right now, e.g. because the ingestion queue is full
+ * or the application is shutting down. Callers should ask the client to retry later.
+ */
+public class SubmissionRejectedException extends RuntimeException {
+
+    public SubmissionRejectedException(String message) {
+        super(message);
+    }
+}
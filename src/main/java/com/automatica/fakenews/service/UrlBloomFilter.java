@@ -0,0 +1,63 @@
+package com.automatica.fakenews.service;
+
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over canonical URL hashes. A negative answer is definitive; a positive answer only
+ * means the URL has probably been reported before and has to be confirmed against the database.
+ * Bit positions are derived from the SHA-256 hash itself (double hashing), so no further hashing is needed.
+ */
+public class UrlBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    public UrlBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String urlHash) {
+        byte[] digest = HexFormat.of().parseHex(urlHash);
+        long h1 = readLong(digest, 0);
+        long h2 = readLong(digest, 8);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String urlHash) {
+        byte[] digest = HexFormat.of().parseHex(urlHash);
+        long h1 = readLong(digest, 0);
+        long h2 = readLong(digest, 8);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+}
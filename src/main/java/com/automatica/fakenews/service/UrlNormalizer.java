@@ -0,0 +1,103 @@
+package com.automatica.fakenews.service;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reduces the many spellings of one article URL to a single canonical form, so that copies of the same
+ * report can be recognized: http/https and host case are unified, default ports, fragments, trailing slashes
+ * and well-known tracking parameters are dropped and the remaining query parameters are sorted.
+ */
+public final class UrlNormalizer {
+
+    private static final Set<String> TRACKING_PARAMETERS = Set.of(
+            "fbclid", "gclid", "dclid", "msclkid", "mc_cid", "mc_eid", "igshid", "yclid",
+            "_ga", "_gl", "ref", "ref_src", "ref_url", "cmpid", "spm", "share", "s_cid");
+
+    private UrlNormalizer() {
+    }
+
+    public static String normalize(String url) {
+        String trimmed = url.trim();
+        if (!trimmed.contains("://")) {
+            trimmed = "https://" + trimmed;
+        }
+        try {
+            URI uri = new URI(trimmed);
+            if (uri.getHost() == null) {
+                return trimmed.toLowerCase(Locale.ROOT);
+            }
+
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            if (scheme.equals("http")) {
+                scheme = "https";
+            }
+            String host = uri.getHost().toLowerCase(Locale.ROOT);
+            if (host.startsWith("www.")) {
+                host = host.substring(4);
+            }
+            int port = uri.getPort();
+            boolean defaultPort = port == -1 || port == 80 || port == 443;
+
+            String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+            while (path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+
+            StringBuilder canonical = new StringBuilder(trimmed.length())
+                    .append(scheme).append("://").append(host);
+            if (!defaultPort) {
+                canonical.append(':').append(port);
+            }
+            canonical.append(path);
+            String query = canonicalQuery(uri.getRawQuery());
+            if (!query.isEmpty()) {
+                canonical.append('?').append(query);
+            }
+            return canonical.toString();
+        } catch (URISyntaxException e) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Hex-encoded SHA-256 of the canonical form of {@code url}.
+     */
+    public static String hash(String url) {
+        return HexFormat.of().formatHex(sha256(normalize(url)));
+    }
+
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String> kept = new ArrayList<>();
+        for (String parameter : rawQuery.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            String name = parameter.split("=", 2)[0].toLowerCase(Locale.ROOT);
+            if (!name.startsWith("utm_") && !TRACKING_PARAMETERS.contains(name)) {
+                kept.add(parameter);
+            }
+        }
+        kept.sort(null);
+        return String.join("&", kept);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
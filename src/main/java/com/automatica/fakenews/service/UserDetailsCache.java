@@ -0,0 +1,89 @@
+package com.automatica.fakenews.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Bounded, expiring cache of loaded users, consulted by the authentication provider before it queries the
+ * users table. A cached user whose password no longer matches is reloaded by the provider, and the services
+ * that change a {@link com.automatica.fakenews.model.User} evict it.
+ * <p>
+ * Entries are copied on the way in and out: the authentication manager erases the password of the principal
+ * it returns, which would otherwise be the cached instance.
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.security.user-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.security.user-cache.max-size:1000}")
+    private long maxSize = 1000;
+
+    @Value("${app.security.user-cache.ttl:PT5M}")
+    private Duration ttl = Duration.ofMinutes(5);
+
+    private Cache<String, UserDetails> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+        }
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        UserDetails user = enabled ? cache.getIfPresent(username) : null;
+        return user != null ? User.withUserDetails(user).build() : null;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (enabled) {
+            cache.put(user.getUsername(), User.withUserDetails(user).build());
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * Drops {@code username} now and, inside a transaction, again after commit, so that a login racing with the
+     * change cannot re-cache the old row.
+     */
+    public void evict(String username) {
+        removeUserFromCache(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeUserFromCache(username);
+                }
+            });
+        }
+    }
+}
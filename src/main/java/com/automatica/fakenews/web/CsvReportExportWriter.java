@@ -0,0 +1,96 @@
+package com.automatica.fakenews.web;
+
+import com.automatica.fakenews.dto.ReportExportRow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV: a header row, CRLF line endings, and fields quoted only when they contain a comma, quote or
+ * line break. Dates are ISO-8601 and missing values are empty fields. Text that a spreadsheet would run as a
+ * formula (starting with {@code =}, {@code +}, {@code -}, {@code @}, tab or carriage return) is prefixed with
+ * {@code '} and quoted, so opening an export never executes what a reporter typed.
+ */
+public class CsvReportExportWriter implements ReportExportWriter {
+
+    static final String HEADER = "id,news_source,url,category,description,status,reported_at,processed_at," +
+            "approved_by,rejected_by,duplicate_count";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer out;
+
+    public CsvReportExportWriter(OutputStream stream) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        out.write(HEADER);
+        out.write("\r\n");
+    }
+
+    @Override
+    public void write(ReportExportRow row) throws IOException {
+        out.write(String.valueOf(row.getId()));
+        field(row.getNewsSource());
+        field(row.getUrl());
+        field(row.getCategory());
+        field(row.getDescription());
+        field(row.getStatus());
+        field(row.getReportedAt());
+        field(row.getProcessedAt());
+        field(row.getApprovedBy());
+        field(row.getRejectedBy());
+        field(row.getDuplicateCount());
+        out.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+
+    private void field(Object value) throws IOException {
+        out.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean formula = isFormula(text);
+        if (formula) {
+            text = "'" + text;
+        }
+        if (!formula && !needsQuoting(text)) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static boolean isFormula(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    private static boolean needsQuoting(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
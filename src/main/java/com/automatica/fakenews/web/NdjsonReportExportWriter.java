@@ -0,0 +1,39 @@
+package com.automatica.fakenews.web;
+
+import com.automatica.fakenews.dto.ReportExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Newline-delimited JSON: one object per report, each on its own line, written through a single generator
+ * that is flushed only when its buffer fills rather than after every row.
+ */
+public class NdjsonReportExportWriter implements ReportExportWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter rowWriter;
+
+    public NdjsonReportExportWriter(OutputStream stream, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(stream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        this.rowWriter = objectMapper.writerFor(ReportExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(ReportExportRow row) throws IOException {
+        rowWriter.writeValue(generator, row);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
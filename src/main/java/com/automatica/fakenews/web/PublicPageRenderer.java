@@ -0,0 +1,136 @@
+package com.automatica.fakenews.web;
+
+import com.automatica.fakenews.config.CacheConfig;
+import com.automatica.fakenews.dto.FeedVersion;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.ISpringTemplateEngine;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves public, read-only pages from gzip-compressed snapshots keyed by the feed version.
+ * Conditional GETs that match the current version are answered with 304 without touching the model or
+ * the template engine; everything else is rendered at most once per page and version.
+ */
+@Component
+public class PublicPageRenderer {
+
+    private static final MediaType HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+
+    @Autowired
+    private ISpringTemplateEngine templateEngine;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ServletContext servletContext;
+
+    private JakartaServletWebApplication webApplication;
+
+    @PostConstruct
+    void init() {
+        webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+    }
+
+    public ResponseEntity<byte[]> render(String view,
+                                         FeedVersion version,
+                                         Supplier<Map<String, Object>> modelSupplier,
+                                         HttpServletRequest request,
+                                         HttpServletResponse response) {
+        Map<String, ?> flashAttributes = RequestContextUtils.getInputFlashMap(request);
+        boolean personalized = flashAttributes != null && !flashAttributes.isEmpty();
+        String eTag = version.toETag();
+
+        if (!personalized
+                && new ServletWebRequest(request, response).checkNotModified(eTag, version.getLastModifiedMillis())) {
+            return null;
+        }
+
+        byte[] gzipped;
+        if (personalized) {
+            // One-off flash messages must never end up in a shared snapshot
+            Map<String, Object> model = new HashMap<>(modelSupplier.get());
+            model.putAll(flashAttributes);
+            gzipped = gzip(renderHtml(view, model, request, response));
+        } else {
+            String key = view + '?' + request.getQueryString() + '@' + eTag;
+            gzipped = snapshots().get(key, () -> gzip(renderHtml(view, modelSupplier.get(), request, response)));
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(HTML_UTF8)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (personalized) {
+            builder.cacheControl(CacheControl.noStore());
+        } else {
+            builder.cacheControl(CacheControl.noCache()).eTag(eTag);
+            if (version.getLastModifiedMillis() >= 0) {
+                builder.lastModified(version.getLastModifiedMillis());
+            }
+        }
+
+        if (acceptsGzip(request)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzipped);
+        }
+        return builder.body(gunzip(gzipped));
+    }
+
+    private byte[] renderHtml(String view, Map<String, Object> model,
+                              HttpServletRequest request, HttpServletResponse response) {
+        WebContext context = new WebContext(webApplication.buildExchange(request, response),
+                RequestContextUtils.getLocale(request), model);
+        return templateEngine.process(view, context).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Cache snapshots() {
+        return cacheManager.getCache(CacheConfig.PAGE_SNAPSHOTS);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] content) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.automatica.fakenews.web;
+
+import com.automatica.fakenews.config.BackgroundThreads;
+import com.automatica.fakenews.config.ReplicaRoutingDataSource;
+import com.automatica.fakenews.dto.PublicReportEvent;
+import com.automatica.fakenews.dto.ReportSummary;
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.repository.FakeNewsReportRepository;
+import com.automatica.fakenews.service.ReportStatusChangedEvent;
+import com.automatica.fakenews.service.ReportStatusChangedEvent.Transition;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes committed report changes to browsers over server-sent events, so open pages update in place instead
+ * of being reloaded.
+ * <p>
+ * Idle subscribers are parked asynchronous requests and hold no thread. Each change is turned into SSE frames
+ * once, with at most one query to load the affected reports, however many subscribers there are; the frames
+ * are then written to the subscribers by a small fixed pool of fan-out threads. Changes touching more than
+ * {@code app.events.max-batch} reports are announced as a single {@code refresh} event instead. The public
+ * channel receives {@link PublicReportEvent}s, the admin channel full {@link ReportSummary}s.
+ */
+@Component
+public class ReportEventBroadcaster {
+
+    public enum Channel {
+        /** The public feed: approved and rejected reports. */
+        PUBLIC,
+        /** The moderation dashboard: every report. */
+        ADMIN
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ReportEventBroadcaster.class);
+
+    @Autowired
+    private FakeNewsReportRepository reportRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BackgroundThreads backgroundThreads;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.events.max-public-subscribers:15000}")
+    private int maxPublicSubscribers;
+
+    @Value("${app.events.max-admin-subscribers:500}")
+    private int maxAdminSubscribers;
+
+    @Value("${app.events.ip-capacity:20}")
+    private int ipCapacity;
+
+    @Value("${app.events.ip-refill-period:10m}")
+    private Duration ipRefillPeriod;
+
+    @Value("${app.events.max-clients:100000}")
+    private int maxClients;
+
+    @Value("${app.events.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.events.reconnect-delay:5s}")
+    private Duration reconnectDelay;
+
+    @Value("${app.events.max-batch:100}")
+    private int maxBatch;
+
+    @Value("${app.events.fanout-threads:4}")
+    private int fanoutThreads;
+
+    private final Map<Channel, Set<SseEmitter>> subscribers = new EnumMap<>(Channel.class);
+    private final Map<Channel, AtomicInteger> subscriberCounts = new EnumMap<>(Channel.class);
+    private TokenBucketStore ipBuckets;
+    private ExecutorService dispatcher;
+    private ExecutorService fanout;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        for (Channel channel : Channel.values()) {
+            Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+            subscribers.put(channel, emitters);
+            subscriberCounts.put(channel, new AtomicInteger());
+            Gauge.builder("fakenews.events.subscribers", emitters, Set::size)
+                    .description("Browsers subscribed to live report updates")
+                    .tag("channel", channel.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        dispatcher = Executors.newSingleThreadExecutor(runnable -> backgroundThreads.newThread("report-events", runnable));
+        fanout = Executors.newFixedThreadPool(fanoutThreads, backgroundThreads.threadFactory("report-events-fanout-"));
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        ipBuckets = new TokenBucketStore(ipCapacity, ipRefillPeriod, maxClients);
+    }
+
+    @PreDestroy
+    void close() {
+        dispatcher.shutdownNow();
+        fanout.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    /**
+     * Registers a new subscriber. The returned emitter completes after {@code app.events.timeout}, after which
+     * the browser reconnects on its own. Each channel has its own limit, so public subscribers can neither lock
+     * admins out nor use up the connections that normal requests need. Public streams are additionally limited
+     * per client address to {@code app.events.ip-capacity} per {@code app.events.ip-refill-period}.
+     *
+     * @throws ResponseStatusException with {@code 429} when {@code client} opened too many public streams, or
+     *                                 {@code 503} when the channel's limit of subscribers is connected
+     */
+    public SseEmitter subscribe(Channel channel, String client) {
+        if (channel == Channel.PUBLIC && !ipBuckets.tryConsume(client).isZero()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many live update streams opened");
+        }
+        AtomicInteger count = subscriberCounts.get(channel);
+        if (count.incrementAndGet() > maxSubscribers(channel)) {
+            count.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live update subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        subscribers.get(channel).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(channel, emitter));
+        emitter.onTimeout(() -> unsubscribe(channel, emitter));
+        emitter.onError(e -> unsubscribe(channel, emitter));
+        try {
+            // Commits the response headers right away so that proxies and the browser see an open stream
+            emitter.send(SseEmitter.event().reconnectTime(reconnectDelay.toMillis()).comment("connected"));
+        } catch (IOException e) {
+            unsubscribe(channel, emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(ReportStatusChangedEvent event) {
+        if (getSubscriberCount() > 0) {
+            dispatcher.execute(() -> broadcast(event.getTransitions()));
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects subscribers that have gone away.
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        if (getSubscriberCount() > 0) {
+            dispatcher.execute(() -> {
+                Set<DataWithMediaType> frame = SseEmitter.event().comment("heartbeat").build();
+                for (Channel channel : Channel.values()) {
+                    deliver(channel, frame);
+                }
+            });
+        }
+    }
+
+    void broadcast(List<Transition> transitions) {
+        try {
+            Set<DataWithMediaType> adminFrames = new LinkedHashSet<>();
+            Set<DataWithMediaType> publicFrames = new LinkedHashSet<>();
+            if (transitions.size() > maxBatch) {
+                Map<String, Object> refresh = Map.of("count", transitions.size());
+                adminFrames.addAll(frame("refresh", refresh));
+                if (transitions.stream().anyMatch(t -> isPublic(t.getFrom()) || isPublic(t.getTo()))) {
+                    publicFrames.addAll(frame("refresh", refresh));
+                }
+            } else {
+                Map<Long, ReportSummary> current = loadCurrent(transitions);
+                for (Transition transition : transitions) {
+                    ReportSummary report = current.get(transition.getReportId());
+                    Map<String, Object> change = new LinkedHashMap<>();
+                    change.put("id", transition.getReportId());
+                    change.put("from", transition.getFrom());
+                    if (report != null) {
+                        change.put("report", report);
+                        adminFrames.addAll(frame("report", change));
+                        if (isPublic(report.getStatus())) {
+                            publicFrames.addAll(frame("report", new PublicReportEvent(report)));
+                        } else if (isPublic(transition.getFrom())) {
+                            publicFrames.addAll(frame("removed", Map.of("id", transition.getReportId())));
+                        }
+                    } else {
+                        adminFrames.addAll(frame("removed", change));
+                        if (isPublic(transition.getFrom())) {
+                            publicFrames.addAll(frame("removed", Map.of("id", transition.getReportId())));
+                        }
+                    }
+                }
+            }
+            deliver(Channel.ADMIN, adminFrames);
+            deliver(Channel.PUBLIC, publicFrames);
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast {} report changes", transitions.size(), e);
+        }
+    }
+
+    private Map<Long, ReportSummary> loadCurrent(List<Transition> transitions) {
+        List<Long> ids = transitions.stream()
+                .filter(transition -> transition.getTo() != null)
+                .map(Transition::getReportId)
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return ReplicaRoutingDataSource.onPrimary(() ->
+                        readOnlyTransaction.execute(status -> reportRepository.findSummariesByIdIn(ids))).stream()
+                .collect(Collectors.toMap(ReportSummary::getId, Function.identity()));
+    }
+
+    private Set<DataWithMediaType> frame(String name, Object data) {
+        try {
+            // Serialized once here rather than by a message converter for every subscriber
+            return SseEmitter.event().name(name).data(objectMapper.writeValueAsString(data)).build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deliver(Channel channel, Set<DataWithMediaType> frames) {
+        Set<SseEmitter> emitters = subscribers.get(channel);
+        List<SseEmitter> targets = List.copyOf(emitters);
+        if (frames.isEmpty() || targets.isEmpty()) {
+            return;
+        }
+        int sliceSize = (targets.size() + fanoutThreads - 1) / fanoutThreads;
+        List<Future<?>> slices = new ArrayList<>(fanoutThreads);
+        for (int from = 0; from < targets.size(); from += sliceSize) {
+            List<SseEmitter> slice = targets.subList(from, Math.min(from + sliceSize, targets.size()));
+            slices.add(fanout.submit(() -> slice.forEach(emitter -> send(channel, emitter, frames))));
+        }
+        // Wait, so that subscribers receive successive changes in commit order
+        for (Future<?> slice : slices) {
+            try {
+                slice.get();
+            } catch (ExecutionException e) {
+                log.warn("Live update fan-out failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(Channel channel, SseEmitter emitter, Set<DataWithMediaType> frames) {
+        try {
+            emitter.send(frames);
+        } catch (IOException | IllegalStateException e) {
+            // The client has gone away; the container completes the request on its own
+            unsubscribe(channel, emitter);
+        }
+    }
+
+    /**
+     * Forgets addresses that have not opened a public stream for a while.
+     */
+    @Scheduled(fixedDelayString = "${app.events.evict-interval:PT1M}")
+    public void evictIdleClients() {
+        ipBuckets.evictIdle();
+    }
+
+    private int maxSubscribers(Channel channel) {
+        return channel == Channel.PUBLIC ? maxPublicSubscribers : maxAdminSubscribers;
+    }
+
+    private void unsubscribe(Channel channel, SseEmitter emitter) {
+        if (subscribers.get(channel).remove(emitter)) {
+            subscriberCounts.get(channel).decrementAndGet();
+        }
+    }
+
+    private static boolean isPublic(ReportStatus status) {
+        return status == ReportStatus.APPROVED || status == ReportStatus.REJECTED;
+    }
+}
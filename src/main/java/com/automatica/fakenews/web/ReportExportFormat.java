@@ -0,0 +1,48 @@
+package com.automatica.fakenews.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * File formats offered by the report export.
+ */
+public enum ReportExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ReportExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public ReportExportWriter open(OutputStream stream, ObjectMapper objectMapper) throws IOException {
+        return this == CSV ? new CsvReportExportWriter(stream) : new NdjsonReportExportWriter(stream, objectMapper);
+    }
+
+    /**
+     * Looks up a format by its name or file extension, ignoring case.
+     */
+    public static Optional<ReportExportFormat> fromParameter(String value) {
+        for (ReportExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value) || format.extension.equalsIgnoreCase(value)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
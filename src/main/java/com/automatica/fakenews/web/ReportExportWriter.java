@@ -0,0 +1,15 @@
+package com.automatica.fakenews.web;
+
+import com.automatica.fakenews.dto.ReportExportRow;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes exported reports one at a time. Closing flushes buffered output but leaves the underlying stream
+ * open.
+ */
+public interface ReportExportWriter extends Closeable {
+
+    void write(ReportExportRow row) throws IOException;
+}
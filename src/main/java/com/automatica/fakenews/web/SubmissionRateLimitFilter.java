@@ -0,0 +1,124 @@
+package com.automatica.fakenews.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Throttles public report submissions per client IP address and, when the client already has one, per
+ * session. Runs ahead of Spring Security, so throttled requests are answered with {@code 429 Too Many
+ * Requests} before CSRF checks, form binding, validation or any database work.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", matchIfMissing = true)
+public class SubmissionRateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.rate-limit.ip-capacity:10}")
+    private int ipCapacity;
+
+    @Value("${app.rate-limit.ip-refill-period:1m}")
+    private Duration ipRefillPeriod;
+
+    @Value("${app.rate-limit.session-capacity:5}")
+    private int sessionCapacity;
+
+    @Value("${app.rate-limit.session-refill-period:1m}")
+    private Duration sessionRefillPeriod;
+
+    @Value("${app.rate-limit.max-clients:100000}")
+    private int maxClients;
+
+    private TokenBucketStore ipBuckets;
+    private TokenBucketStore sessionBuckets;
+    private Counter ipRejections;
+    private Counter sessionRejections;
+
+    @PostConstruct
+    void init() {
+        ipBuckets = new TokenBucketStore(ipCapacity, ipRefillPeriod, maxClients);
+        sessionBuckets = new TokenBucketStore(sessionCapacity, sessionRefillPeriod, maxClients);
+        ipRejections = rejections("ip");
+        sessionRejections = rejections("session");
+        Gauge.builder("fakenews.ratelimit.clients", ipBuckets, TokenBucketStore::size)
+                .description("Clients currently tracked by the submission rate limit")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        Gauge.builder("fakenews.ratelimit.clients", sessionBuckets, TokenBucketStore::size)
+                .description("Clients currently tracked by the submission rate limit")
+                .tag("key", "session")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !"/report".equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Duration wait = ipBuckets.tryConsume(request.getRemoteAddr());
+        if (!wait.isZero()) {
+            ipRejections.increment();
+            reject(response, wait);
+            return;
+        }
+        // Never create a session here; a client without one is limited by its address alone
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            wait = sessionBuckets.tryConsume(session.getId());
+            if (!wait.isZero()) {
+                sessionRejections.increment();
+                reject(response, wait);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.evict-interval:PT1M}")
+    public void evictIdleClients() {
+        ipBuckets.evictIdle();
+        sessionBuckets.evictIdle();
+    }
+
+    private Counter rejections(String key) {
+        return Counter.builder("fakenews.ratelimit.rejected")
+                .description("Report submissions rejected by the rate limit")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    private static void reject(HttpServletResponse response, Duration wait) throws IOException {
+        long seconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("Too many reports submitted. Please try again in " + seconds + " seconds.");
+    }
+}
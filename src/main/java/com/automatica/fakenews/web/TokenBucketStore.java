@@ -0,0 +1,95 @@
+package com.automatica.fakenews.web;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets holding {@code capacity} tokens that refill evenly over {@code refillPeriod}.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time, the instant at which it
+ * will be full again (the GCRA formulation of a token bucket), and is updated with a compare-and-set loop,
+ * so taking a token never locks. A bucket whose arrival time has passed is full and therefore equivalent to
+ * no bucket at all, which is what {@link #evictIdle()} removes. Memory is bounded by {@code maxClients}:
+ * once that many clients are tracked, new clients share one overflow bucket until idle ones are evicted.
+ */
+public class TokenBucketStore {
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final int maxClients;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketStore(int capacity, Duration refillPeriod, int maxClients) {
+        this(capacity, refillPeriod, maxClients, System::nanoTime);
+    }
+
+    TokenBucketStore(int capacity, Duration refillPeriod, int maxClients, LongSupplier nanoClock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.emissionInterval = refillPeriod.toNanos() / capacity;
+        this.burstTolerance = emissionInterval * capacity;
+        this.maxClients = maxClients;
+        this.nanoClock = nanoClock;
+        this.overflow = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes one token from {@code client}'s bucket.
+     *
+     * @return {@link Duration#ZERO} if a token was taken, otherwise the time until the next token is available
+     */
+    public Duration tryConsume(String client) {
+        AtomicLong bucket = bucketFor(client);
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long arrival = bucket.get();
+            long next = (arrival - now > 0 ? arrival : now) + emissionInterval;
+            long excess = next - now - burstTolerance;
+            if (excess > 0) {
+                return Duration.ofNanos(excess);
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    /**
+     * Forgets clients whose buckets have refilled completely.
+     *
+     * @return the number of clients removed
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            // A token taken concurrently from a bucket that is being removed is forgiven; the client gets a new,
+            // full bucket on its next request
+            if (entry.getValue().get() - now <= 0 && buckets.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucketFor(String client) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            return overflow;
+        }
+        return buckets.computeIfAbsent(client, key -> new AtomicLong(nanoClock.getAsLong()));
+    }
+}
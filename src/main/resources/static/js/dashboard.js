@@ -0,0 +1,117 @@
+// Loads dashboard sections and further pages as server-rendered fragments on demand, and applies report
+// changes pushed by the server.
+(function () {
+    var script = document.currentScript;
+
+    function load(url, target, position) {
+        return fetch(url, { headers: { 'X-Requested-With': 'XMLHttpRequest' } })
+            .then(function (response) {
+                if (!response.ok) {
+                    throw new Error('HTTP ' + response.status);
+                }
+                return response.text();
+            })
+            .then(function (html) {
+                target.insertAdjacentHTML(position, html);
+            });
+    }
+
+    document.querySelectorAll('details.lazy-section').forEach(function (section) {
+        section.addEventListener('toggle', function () {
+            if (!section.open || section.dataset.loaded) {
+                return;
+            }
+            section.dataset.loaded = 'true';
+            load(section.dataset.src, section.querySelector('.admin-reports-list'), 'beforeend')
+                .catch(function () {
+                    delete section.dataset.loaded;
+                });
+        });
+    });
+
+    document.addEventListener('click', function (event) {
+        var link = event.target.closest('a[data-fragment]');
+        if (!link) {
+            return;
+        }
+        event.preventDefault();
+        var container = link.closest('.load-more');
+        load(link.href, container, 'beforebegin').then(function () {
+            container.remove();
+        });
+    });
+
+    if (!window.EventSource || !script.dataset.events) {
+        return;
+    }
+    var notice = document.querySelector('.live-notice');
+    var pendingList = document.getElementById('pending-list');
+    // Counts are only adjusted when they cover all reports; a filtered dashboard cannot tell which apply
+    var adjustCounts = script.dataset.filtered !== 'true';
+    var submitted = 0;
+
+    function showNotice(text) {
+        notice.querySelector('.live-notice-text').textContent = text;
+        notice.hidden = false;
+    }
+
+    function adjustCount(status, delta) {
+        var count = status && document.querySelector('.status-count[data-status="' + status + '"]');
+        if (adjustCounts && count) {
+            count.textContent = Math.max(0, parseInt(count.textContent, 10) + delta);
+        }
+    }
+
+    function removeCards(id) {
+        document.querySelectorAll('.admin-report-card[data-report-id="' + id + '"]').forEach(function (card) {
+            card.remove();
+        });
+    }
+
+    notice.querySelector('.live-refresh').addEventListener('click', function (event) {
+        event.preventDefault();
+        notice.hidden = true;
+        submitted = 0;
+        pendingList.innerHTML = '';
+        load(pendingList.dataset.src, pendingList, 'beforeend');
+        document.querySelectorAll('details.lazy-section').forEach(function (section) {
+            section.open = false;
+            delete section.dataset.loaded;
+            section.querySelector('.admin-reports-list').innerHTML = '';
+        });
+    });
+
+    var source = new EventSource(script.dataset.events);
+    var connected = false;
+
+    source.addEventListener('open', function () {
+        if (connected) {
+            showNotice('Reconnected to live updates; changes may have been missed.');
+        }
+        connected = true;
+    });
+
+    source.addEventListener('report', function (event) {
+        var change = JSON.parse(event.data);
+        if (change.from === change.report.status) {
+            return;
+        }
+        removeCards(change.id);
+        adjustCount(change.from, -1);
+        adjustCount(change.report.status, 1);
+        if (change.from === null && change.report.status === 'PENDING') {
+            submitted++;
+            showNotice(submitted + ' new report(s) submitted.');
+        }
+    });
+
+    source.addEventListener('removed', function (event) {
+        var change = JSON.parse(event.data);
+        removeCards(change.id);
+        adjustCount(change.from, -1);
+    });
+
+    source.addEventListener('refresh', function (event) {
+        showNotice(JSON.parse(event.data).count + ' reports changed.');
+    });
+})();
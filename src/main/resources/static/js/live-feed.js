@@ -0,0 +1,108 @@
+// Keeps the public feed current by applying pushed report changes instead of reloading the page.
+(function () {
+    var feed = document.getElementById('live-feed');
+    if (!feed || !window.EventSource) {
+        return;
+    }
+    var grid = feed.querySelector('.reports-grid');
+    var empty = feed.querySelector('.no-reports');
+    var notice = feed.querySelector('.live-notice');
+    var firstPage = feed.dataset.firstPage === 'true';
+    var pageSize = parseInt(feed.dataset.pageSize, 10) || 20;
+
+    function element(tag, className, text) {
+        var node = document.createElement(tag);
+        if (className) {
+            node.className = className;
+        }
+        if (text != null) {
+            node.textContent = text;
+        }
+        return node;
+    }
+
+    function formatDate(value) {
+        if (!value) {
+            return '';
+        }
+        return new Date(value).toLocaleDateString('en-US', { month: 'short', day: '2-digit', year: 'numeric' });
+    }
+
+    // Mirrors the report card markup of index.html
+    function card(report) {
+        var rejected = report.status === 'REJECTED';
+        var node = element('div', 'report-card' + (rejected ? ' rejected-report' : ''));
+        node.dataset.reportId = report.id;
+        var header = element('div', 'report-header');
+        header.appendChild(element('span', 'category-badge', report.category));
+        header.appendChild(element('span', 'date', formatDate(report.processedAt)));
+        node.appendChild(header);
+        node.appendChild(element('h4', null, report.source));
+        node.appendChild(element('p', 'url', report.url));
+        node.appendChild(element('p', 'description', report.excerpt));
+        // Cut-off excerpts end in an ellipsis
+        if (report.excerpt && report.excerpt.charAt(report.excerpt.length - 1) === '\u2026') {
+            var more = element('a', 'read-more', 'Read more');
+            more.href = feed.dataset.reportUrl + report.id;
+            node.appendChild(more);
+        }
+        var footer = element('div', 'report-footer');
+        if (report.status === 'APPROVED') {
+            footer.appendChild(element('span', 'verified', '✓ Verified'));
+        }
+        if (rejected) {
+            footer.appendChild(element('span', 'rejected-badge', '✗ Rejected by Admin'));
+        }
+        node.appendChild(footer);
+        return node;
+    }
+
+    function find(id) {
+        return grid.querySelector('[data-report-id="' + id + '"]');
+    }
+
+    function updateEmpty() {
+        var hasCards = grid.children.length > 0;
+        grid.hidden = !hasCards;
+        if (empty) {
+            empty.hidden = hasCards;
+        }
+    }
+
+    var source = new EventSource(feed.dataset.events);
+    var connected = false;
+
+    source.addEventListener('open', function () {
+        // Changes made while disconnected were missed
+        if (connected) {
+            notice.hidden = false;
+        }
+        connected = true;
+    });
+
+    source.addEventListener('report', function (event) {
+        var report = JSON.parse(event.data);
+        var existing = find(report.id);
+        if (existing) {
+            existing.replaceWith(card(report));
+        } else if (firstPage) {
+            grid.insertBefore(card(report), grid.firstChild);
+            while (grid.children.length > pageSize) {
+                grid.removeChild(grid.lastChild);
+            }
+        }
+        updateEmpty();
+    });
+
+    source.addEventListener('removed', function (event) {
+        var existing = find(JSON.parse(event.data).id);
+        if (existing) {
+            existing.remove();
+            updateEmpty();
+        }
+    });
+
+    source.addEventListener('refresh', function () {
+        notice.hidden = false;
+    });
+})();
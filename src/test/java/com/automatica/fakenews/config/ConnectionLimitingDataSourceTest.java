@@ -0,0 +1,74 @@
+package com.automatica.fakenews.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    void testGetConnection_TimesOutWhenAllPermitsAreInUse() throws SQLException {
+        // Given
+        when(target.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(10));
+        dataSource.getConnection();
+
+        // When / Then
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getActiveConnections());
+    }
+
+    @Test
+    void testClose_ReleasesThePermitOnce() throws SQLException {
+        // Given
+        when(target.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 2, Duration.ofMillis(10));
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        // When
+        first.close();
+        first.close();
+
+        // Then
+        assertEquals(1, dataSource.getActiveConnections());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void testGetConnection_ReleasesThePermitWhenTheTargetFails() throws SQLException {
+        // Given
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(10));
+
+        // When
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        // Then
+        assertEquals(0, dataSource.getActiveConnections());
+    }
+
+    @Test
+    void testConstructor_RejectsLimitBelowOne() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConnectionLimitingDataSource(target, -1, Duration.ofMillis(10)));
+    }
+}
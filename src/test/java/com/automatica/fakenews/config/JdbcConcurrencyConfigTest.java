@@ -0,0 +1,38 @@
+package com.automatica.fakenews.config;
+
+import com.automatica.fakenews.config.JdbcConcurrencyConfig.ConnectionLimitingPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JdbcConcurrencyConfigTest {
+
+    @Test
+    void testPostProcessor_RegistersGaugesForEveryWrappedPool() {
+        // Given
+        ConnectionLimitingPostProcessor postProcessor = new ConnectionLimitingPostProcessor(new MockEnvironment());
+        Object primary = postProcessor.postProcessAfterInitialization(mock(DataSource.class), "primaryDataSource");
+        Object replica = postProcessor.postProcessAfterInitialization(mock(DataSource.class), "replicaDataSource");
+        DelegatingDataSource routing = new DelegatingDataSource((DataSource) primary);
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        // When
+        Object application = postProcessor.postProcessAfterInitialization(routing, "dataSource");
+        postProcessor.bindTo(registry);
+
+        // Then
+        assertInstanceOf(ConnectionLimitingDataSource.class, primary);
+        assertInstanceOf(ConnectionLimitingDataSource.class, replica);
+        assertSame(routing, application);
+        assertNotNull(registry.find("fakenews.jdbc.connections.active").tag("pool", "primaryDataSource").gauge());
+        assertNotNull(registry.find("fakenews.jdbc.connections.waiting").tag("pool", "replicaDataSource").gauge());
+        assertEquals(2, registry.find("fakenews.jdbc.connections.active").gauges().size());
+    }
+}
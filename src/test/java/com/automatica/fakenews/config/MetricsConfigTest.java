@@ -0,0 +1,45 @@
+package com.automatica.fakenews.config;
+
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.service.ReportIngestionService;
+import com.automatica.fakenews.service.ReportStatisticsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsConfigTest {
+
+    @Mock
+    private ReportStatisticsService statisticsService;
+
+    @Mock
+    private ReportIngestionService ingestionService;
+
+    @Test
+    void testReportGauges_ShareOneTotalsComputationPerScrape() {
+        // Given
+        when(statisticsService.getTotals()).thenReturn(Map.of(
+                ReportStatus.PENDING, 3L, ReportStatus.APPROVED, 5L, ReportStatus.REJECTED, 2L));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MetricsConfig().reportMetrics(statisticsService, ingestionService).bindTo(registry);
+
+        // When
+        double pending = registry.get("fakenews.reports").tag("status", "pending").gauge().value();
+        double approved = registry.get("fakenews.reports").tag("status", "approved").gauge().value();
+        double rejected = registry.get("fakenews.reports").tag("status", "rejected").gauge().value();
+
+        // Then
+        assertEquals(3, pending);
+        assertEquals(5, approved);
+        assertEquals(2, rejected);
+        verify(statisticsService, times(1)).getTotals();
+    }
+}
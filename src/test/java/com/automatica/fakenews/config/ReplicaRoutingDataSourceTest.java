@@ -0,0 +1,88 @@
+package com.automatica.fakenews.config;
+
+import com.automatica.fakenews.service.ReportChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    private final ReadYourWritesWindow window = new ReadYourWritesWindow(Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransaction_UsesReplica() {
+        // Given
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, window);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When / Then
+        assertEquals(ReplicaRoutingDataSource.REPLICA, dataSource.determineCurrentLookupKey());
+        assertEquals(ReplicaRoutingDataSource.PRIMARY,
+                ReplicaRoutingDataSource.onPrimary(dataSource::determineCurrentLookupKey));
+    }
+
+    @Test
+    void testModeration_KeepsReadsOnPrimaryForEverybody() {
+        // Given
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, window);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        window.onReportChanged(ReportChangedEvent.saved(List.of(1L)));
+        assertEquals(ReplicaRoutingDataSource.REPLICA, dataSource.determineCurrentLookupKey());
+
+        // When
+        window.onReportChanged(ReportChangedEvent.moderated(List.of(1L)));
+
+        // Then
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testCommittedWrite_KeepsThatUsersReadsOnPrimary() {
+        // Given
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, window);
+        signIn("alice");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Then
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+        signIn("bob");
+        assertEquals(ReplicaRoutingDataSource.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+}
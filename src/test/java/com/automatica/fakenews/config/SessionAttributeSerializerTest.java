@@ -0,0 +1,67 @@
+package com.automatica.fakenews.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.servlet.FlashMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionAttributeSerializerTest {
+
+    private final SessionAttributeSerializer serializer =
+            new SessionAttributeSerializer(new ObjectMapper(), getClass().getClassLoader());
+
+    @Test
+    void testSecurityContext_RoundTripsAsCompactJson() throws IOException {
+        // Given
+        User admin = new User("admin", "", AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+        SecurityContext context = new SecurityContextImpl(
+                UsernamePasswordAuthenticationToken.authenticated(admin, null, admin.getAuthorities()));
+
+        // When
+        byte[] json = serialize(context);
+        SecurityContext restored = (SecurityContext) serializer.deserialize(new ByteArrayInputStream(json));
+
+        // Then
+        assertEquals('{', json[0]);
+        assertEquals("admin", restored.getAuthentication().getName());
+        assertTrue(restored.getAuthentication().isAuthenticated());
+        assertEquals(AuthorityUtils.authorityListToSet(admin.getAuthorities()),
+                AuthorityUtils.authorityListToSet(restored.getAuthentication().getAuthorities()));
+        ByteArrayOutputStream java = new ByteArrayOutputStream();
+        new DefaultSerializer().serialize(context, java);
+        assertTrue(json.length < java.size(), json.length + " bytes of JSON vs " + java.size() + " serialized");
+    }
+
+    @Test
+    void testOtherAttributes_FallBackToJavaSerialization() throws IOException {
+        // Given
+        FlashMap flashMap = new FlashMap();
+        flashMap.put("successMessage", "Report approved successfully!");
+        List<FlashMap> flashMaps = new ArrayList<>(List.of(flashMap));
+
+        // When
+        Object restored = serializer.deserialize(new ByteArrayInputStream(serialize(flashMaps)));
+
+        // Then
+        assertEquals(flashMaps, restored);
+    }
+
+    private byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.serialize(value, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,34 @@
+package com.automatica.fakenews.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StrengthMatchingBCryptPasswordEncoderTest {
+
+    private final StrengthMatchingBCryptPasswordEncoder encoder = new StrengthMatchingBCryptPasswordEncoder(6);
+
+    @Test
+    void testUpgradeEncoding_RehashesWeakerAndStrongerHashes() {
+        // Given
+        String weaker = new BCryptPasswordEncoder(4).encode("secret");
+        String stronger = new BCryptPasswordEncoder(8).encode("secret");
+
+        // When / Then
+        assertTrue(encoder.upgradeEncoding(weaker));
+        assertTrue(encoder.upgradeEncoding(stronger));
+        assertTrue(encoder.matches("secret", stronger));
+    }
+
+    @Test
+    void testUpgradeEncoding_KeepsHashesOfConfiguredStrength() {
+        // Given
+        String current = encoder.encode("secret");
+
+        // When / Then
+        assertFalse(encoder.upgradeEncoding(current));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+}
@@ -0,0 +1,28 @@
+package com.automatica.fakenews.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportSearchResultsTest {
+
+    @Test
+    void testHasNext_WhileMoreHitsAreReachable() {
+        // When
+        ReportSearchResults results = new ReportSearchResults(List.of(), 98, 100, 50_000, true, true, 10_000);
+
+        // Then
+        assertTrue(results.hasNext());
+    }
+
+    @Test
+    void testHasNext_StopsAtMaxResultsEvenWithMoreHits() {
+        // When
+        ReportSearchResults results = new ReportSearchResults(List.of(), 99, 100, 50_000, true, true, 10_000);
+
+        // Then
+        assertFalse(results.hasNext());
+    }
+}
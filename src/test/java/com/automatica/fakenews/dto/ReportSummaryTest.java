@@ -0,0 +1,46 @@
+package com.automatica.fakenews.dto;
+
+import com.automatica.fakenews.model.ReportStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportSummaryTest {
+
+    @Test
+    void testShortDescription_IsKeptAsIs() {
+        // When
+        ReportSummary summary = summaryWithDescription("x".repeat(ReportSummary.EXCERPT_LENGTH));
+
+        // Then
+        assertEquals("x".repeat(ReportSummary.EXCERPT_LENGTH), summary.getDescriptionExcerpt());
+        assertFalse(summary.isDescriptionTruncated());
+    }
+
+    @Test
+    void testLongDescription_IsCutToExcerptLength() {
+        // When
+        ReportSummary summary = summaryWithDescription("x".repeat(ReportSummary.EXCERPT_FETCH_LENGTH));
+
+        // Then
+        assertEquals("x".repeat(ReportSummary.EXCERPT_LENGTH) + "…", summary.getDescriptionExcerpt());
+        assertTrue(summary.isDescriptionTruncated());
+    }
+
+    @Test
+    void testMissingDescription_IsNotTruncated() {
+        // When
+        ReportSummary summary = summaryWithDescription(null);
+
+        // Then
+        assertNull(summary.getDescriptionExcerpt());
+        assertFalse(summary.isDescriptionTruncated());
+    }
+
+    private static ReportSummary summaryWithDescription(String description) {
+        return new ReportSummary(1L, "Source", "https://example.com", "Politics", ReportStatus.PENDING,
+                LocalDateTime.now(), null, null, null, 0, description);
+    }
+}
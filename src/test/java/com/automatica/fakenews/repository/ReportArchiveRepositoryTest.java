@@ -0,0 +1,38 @@
+package com.automatica.fakenews.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportArchiveRepositoryTest {
+
+    @Test
+    void testCompress_RoundTripsDescriptions() {
+        // Given
+        String description = "Claims that the city council secretly voted to ban bicycles — résumé, 日本語 and emoji 🚲 included.";
+
+        // When
+        byte[] compressed = ReportArchiveRepository.compress(description);
+
+        // Then
+        assertEquals(description, ReportArchiveRepository.decompress(compressed));
+        assertEquals("", ReportArchiveRepository.decompress(ReportArchiveRepository.compress("")));
+        assertNull(ReportArchiveRepository.compress(null));
+        assertNull(ReportArchiveRepository.decompress(null));
+    }
+
+    @Test
+    void testCompress_ShrinksTypicalDescriptions() {
+        // Given
+        String description = ("The article claims that the new vaccine contains microchips that track people. "
+                + "The claim has been debunked by several independent fact-checking organizations, and the cited "
+                + "study does not exist. The article claims further that the government hid the results. ").repeat(2);
+
+        // When
+        byte[] compressed = ReportArchiveRepository.compress(description);
+
+        // Then
+        assertTrue(compressed.length < description.length() / 2,
+                () -> compressed.length + " bytes for " + description.length() + " characters");
+    }
+}
@@ -0,0 +1,114 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.config.CacheConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterCacheInvalidatorTest {
+
+    @Mock
+    private ReportInvalidationBus invalidationBus;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DuplicateReportDetector duplicateDetector;
+
+    @Mock
+    private ReportSearchService searchService;
+
+    @InjectMocks
+    private ClusterCacheInvalidator invalidator;
+
+    @Test
+    void testOnReportChanged_PublishesChunkedMessagesFromThisNode() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, ReportInvalidation.MAX_IDS + 1).boxed().toList();
+
+        // When
+        invalidator.onReportChanged(ReportChangedEvent.saved(ids));
+
+        // Then
+        ArgumentCaptor<ReportInvalidation> messages = ArgumentCaptor.forClass(ReportInvalidation.class);
+        verify(invalidationBus, times(2)).publish(messages.capture());
+        assertEquals(ReportInvalidation.MAX_IDS, messages.getAllValues().get(0).getReportIds().size());
+        assertEquals(List.of((long) ReportInvalidation.MAX_IDS + 1), messages.getAllValues().get(1).getReportIds());
+        assertTrue(messages.getAllValues().stream().allMatch(m -> m.getOrigin().equals(invalidator.getNodeId())));
+    }
+
+    @Test
+    void testOnReportChanged_RemoteEvent_IsNotPublishedAgain() {
+        // When
+        invalidator.onReportChanged(ReportChangedEvent.remote(List.of(1L), false, true, false));
+
+        // Then
+        verify(invalidationBus, never()).publish(any());
+    }
+
+    @Test
+    void testOnInvalidation_ModerationFromOtherNode_EvictsCachesAndRepublishesLocally() {
+        // Given
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        ReportInvalidation message = ReportInvalidation.decode(
+                new ReportInvalidation("other-node", false, true, false, List.of(7L, 8L)).encode());
+
+        // When
+        invalidator.onInvalidation(message);
+
+        // Then
+        verify(cacheManager).getCache(CacheConfig.PUBLIC_FEED);
+        verify(cacheManager).getCache(CacheConfig.PAGE_SNAPSHOTS);
+        verify(cache, times(3)).clear();
+        ArgumentCaptor<ReportChangedEvent> event = ArgumentCaptor.forClass(ReportChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().isRemote());
+        assertTrue(event.getValue().isModerated());
+        assertFalse(event.getValue().isDeleted());
+        assertEquals(List.of(7L, 8L), event.getValue().getReportIds());
+    }
+
+    @Test
+    void testOnInvalidation_SubmissionFromOtherNode_RegistersUrlsWithoutEvicting() {
+        // Given
+        ReportInvalidation message = ReportInvalidation.decode(
+                new ReportInvalidation("other-node", false, false, false, List.of(9L)).encode());
+
+        // When
+        invalidator.onInvalidation(message);
+
+        // Then
+        verify(duplicateDetector).registerReports(List.of(9L));
+        verifyNoInteractions(cacheManager);
+        verify(eventPublisher).publishEvent(any(ReportChangedEvent.class));
+    }
+
+    @Test
+    void testOnInvalidation_FromThisNode_IsIgnored() {
+        // When
+        invalidator.onInvalidation(new ReportInvalidation(invalidator.getNodeId(), true, false, false, List.of(7L)));
+
+        // Then
+        verifyNoInteractions(cacheManager, eventPublisher, duplicateDetector);
+    }
+}
@@ -0,0 +1,69 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.repository.FakeNewsReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateReportDetectorTest {
+
+    private static final String ARCHIVED_HASH = UrlNormalizer.hash("https://example.com/archived");
+
+    @Mock
+    private FakeNewsReportRepository reportRepository;
+
+    @InjectMocks
+    private DuplicateReportDetector duplicateDetector;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(duplicateDetector, "expectedUrls", 1000L);
+        ReflectionTestUtils.setField(duplicateDetector, "falsePositiveRate", 0.01);
+        duplicateDetector.init();
+        List<Object[]> loaded = new ArrayList<>();
+        loaded.add(new Object[]{1L, ARCHIVED_HASH});
+        when(reportRepository.findCanonicalUrlHashesAfter(anyLong(), any(Pageable.class))).thenReturn(loaded);
+        duplicateDetector.warmUp();
+    }
+
+    @Test
+    void testFindExistingReportId_ArchivedReportIsNoLongerADuplicate() {
+        // Given
+        when(reportRepository.findIdsByCanonicalUrlHash(eq(ARCHIVED_HASH), any(Pageable.class))).thenReturn(List.of());
+
+        // When
+        Optional<Long> existing = duplicateDetector.findExistingReportId(ARCHIVED_HASH);
+
+        // Then
+        assertTrue(existing.isEmpty());
+    }
+
+    @Test
+    void testFindExisting_ArchivedReportIsNoLongerADuplicate() {
+        // Given
+        when(reportRepository.findExistingCanonicalUrlHashes(List.of(ARCHIVED_HASH))).thenReturn(List.of());
+
+        // When
+        Set<String> existing = duplicateDetector.findExisting(List.of(ARCHIVED_HASH));
+
+        // Then
+        assertEquals(Set.of(), existing);
+    }
+}
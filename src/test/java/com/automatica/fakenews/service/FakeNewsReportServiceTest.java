@@ -1,21 +1,44 @@
 package com.automatica.fakenews.service;
 
+import com.automatica.fakenews.dto.ReportCursor;
+import com.automatica.fakenews.dto.ReportExportRow;
+import com.automatica.fakenews.dto.ReportFilter;
+import com.automatica.fakenews.dto.ReportPage;
+import com.automatica.fakenews.dto.ReportStatisticsKey;
+import com.automatica.fakenews.dto.ReportSummary;
 import com.automatica.fakenews.model.FakeNewsReport;
+import com.automatica.fakenews.model.ReportStatus;
 import com.automatica.fakenews.repository.FakeNewsReportRepository;
+import com.automatica.fakenews.repository.ReportArchiveRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +47,15 @@ class FakeNewsReportServiceTest {
     @Mock
     private FakeNewsReportRepository reportRepository;
 
+    @Mock
+    private ReportArchiveRepository archiveRepository;
+
+    @Mock
+    private DuplicateReportDetector duplicateDetector;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private FakeNewsReportService reportService;
 
@@ -36,7 +68,11 @@ class FakeNewsReportServiceTest {
         report.setCategory("Politics");
         report.setDescription("This is a fake news source");
 
-        when(reportRepository.save(any(FakeNewsReport.class))).thenReturn(report);
+        when(reportRepository.save(any(FakeNewsReport.class))).thenAnswer(invocation -> {
+            FakeNewsReport persisted = invocation.getArgument(0);
+            persisted.setId(1L);
+            return persisted;
+        });
 
         // When
         FakeNewsReport savedReport = reportService.saveReport(report);
@@ -45,189 +81,585 @@ class FakeNewsReportServiceTest {
         assertNotNull(savedReport);
         verify(reportRepository, times(1)).save(report);
         assertEquals("Fake News Daily", savedReport.getNewsSource());
+        assertEquals(UrlNormalizer.hash("http://fakenews.com"), savedReport.getCanonicalUrlHash());
+        verify(duplicateDetector).register(savedReport.getCanonicalUrlHash());
+        ArgumentCaptor<ReportChangedEvent> event = ArgumentCaptor.forClass(ReportChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(1L), event.getValue().getReportIds());
     }
 
     @Test
-    void testApproveReport_SetsAllFields() {
+    void testSaveReport_KnownUrl_IncrementsDuplicateCountInsteadOfInserting() {
         // Given
+        FakeNewsReport existing = new FakeNewsReport();
+        existing.setId(7L);
         FakeNewsReport report = new FakeNewsReport();
-        report.setId(1L);
         report.setNewsSource("Fake News Daily");
-        report.setUrl("http://fakenews.com");
+        report.setUrl("HTTP://www.FakeNews.com/story/?utm_source=twitter");
         report.setCategory("Politics");
-        report.setApproved(false);
 
-        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
-        when(reportRepository.save(any(FakeNewsReport.class))).thenReturn(report);
+        when(duplicateDetector.findExistingReportId(UrlNormalizer.hash("https://fakenews.com/story")))
+                .thenReturn(Optional.of(7L));
+        when(reportRepository.getReferenceById(7L)).thenReturn(existing);
 
         // When
-        reportService.approveReport(1L, "admin");
+        FakeNewsReport result = reportService.saveReport(report);
+
+        // Then
+        assertSame(existing, result);
+        verify(reportRepository).incrementDuplicateCount(7L, 1);
+        verify(reportRepository, never()).save(any(FakeNewsReport.class));
+    }
+
+    @Test
+    void testSaveReports_FoldsDuplicatesWithinBatchAndAgainstStoredReports() {
+        // Given
+        FakeNewsReport first = new FakeNewsReport();
+        first.setUrl("https://example.com/a");
+        FakeNewsReport sameAsFirst = new FakeNewsReport();
+        sameAsFirst.setUrl("http://EXAMPLE.com/a/");
+        FakeNewsReport alreadyStored = new FakeNewsReport();
+        alreadyStored.setUrl("https://example.com/b");
+
+        String storedHash = UrlNormalizer.hash("https://example.com/b");
+        when(duplicateDetector.findExistingReportId(anyString())).thenAnswer(invocation ->
+                storedHash.equals(invocation.getArgument(0)) ? Optional.of(3L) : Optional.empty());
+        when(reportRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<FakeNewsReport> persisted = List.copyOf(invocation.getArgument(0));
+            persisted.forEach(report -> report.setId(10L));
+            return persisted;
+        });
+
+        // When
+        List<FakeNewsReport> saved = reportService.saveReports(List.of(first, sameAsFirst, alreadyStored));
 
         // Then
-        ArgumentCaptor<FakeNewsReport> captor = ArgumentCaptor.forClass(FakeNewsReport.class);
-        verify(reportRepository).save(captor.capture());
+        assertEquals(List.of(first), saved);
+        assertEquals(1, first.getDuplicateCount());
+        verify(reportRepository).incrementDuplicateCount(3L, 1);
+    }
 
-        FakeNewsReport savedReport = captor.getValue();
-        assertTrue(savedReport.isApproved(), "Report should be approved");
-        assertEquals("admin", savedReport.getApprovedBy(), "Approved by should be set to 'admin'");
-        assertNotNull(savedReport.getApprovedAt(), "Approved at timestamp should be set");
+    @Test
+    void testApproveReport_GuardsUpdateWithCurrentStatusAndVersion() {
+        // Given
+        when(reportRepository.findStatisticsKeysByIdIn(List.of(1L))).thenReturn(statisticsKeys(1L, ReportStatus.PENDING, 4L));
+        when(reportRepository.approveIfUnchanged(eq(1L), eq(ReportStatus.PENDING), eq(4L), eq("admin"),
+                any(LocalDateTime.class), eq(ReportStatus.APPROVED))).thenReturn(1);
+
+        // When
+        reportService.approveReport(1L, "admin");
+
+        // Then
+        verify(reportRepository, never()).save(any(FakeNewsReport.class));
+        ArgumentCaptor<ReportStatusChangedEvent> captor = ArgumentCaptor.forClass(ReportStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        ReportStatusChangedEvent.Transition transition = captor.getValue().getTransitions().get(0);
+        assertEquals(ReportStatus.PENDING, transition.getFrom());
+        assertEquals(ReportStatus.APPROVED, transition.getTo());
+        assertEquals("Politics", transition.getCategory());
     }
 
     @Test
     void testApproveReport_ReportNotFound_DoesNothing() {
         // Given
-        when(reportRepository.findById(999L)).thenReturn(Optional.empty());
+        when(reportRepository.findStatisticsKeysByIdIn(List.of(999L))).thenReturn(List.of());
 
         // When
         reportService.approveReport(999L, "admin");
 
         // Then
-        verify(reportRepository, never()).save(any(FakeNewsReport.class));
+        verify(reportRepository, never()).approveIfUnchanged(any(), any(), anyLong(), any(), any(), any());
     }
 
     @Test
-    void testGetApprovedReports_DelegatesToRepository() {
+    void testApproveReport_WithExpectedVersion_IsOneConditionalUpdate() {
         // Given
-        FakeNewsReport report1 = new FakeNewsReport();
-        report1.setId(1L);
-        report1.setNewsSource("Source 1");
-        report1.setApproved(true);
+        when(reportRepository.approveIfUnchanged(eq(1L), eq(ReportStatus.PENDING), eq(2L), eq("admin"),
+                any(LocalDateTime.class), eq(ReportStatus.APPROVED))).thenReturn(1);
+        when(reportRepository.findStatisticsKeysByIdIn(List.of(1L))).thenReturn(statisticsKeys(1L, ReportStatus.APPROVED, 3L));
 
-        FakeNewsReport report2 = new FakeNewsReport();
-        report2.setId(2L);
-        report2.setNewsSource("Source 2");
-        report2.setApproved(true);
+        // When
+        reportService.approveReport(1L, "admin", ReportStatus.PENDING, 2L);
 
-        List<FakeNewsReport> approvedReports = Arrays.asList(report1, report2);
-        when(reportRepository.findByApprovedTrueOrderByApprovedAtDesc()).thenReturn(approvedReports);
+        // Then
+        verify(reportRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(any(ReportStatusChangedEvent.class));
+    }
+
+    @Test
+    void testApproveReport_StaleVersion_ThrowsConflictWithCurrentState() {
+        // Given
+        when(reportRepository.approveIfUnchanged(eq(1L), eq(ReportStatus.PENDING), eq(2L), eq("alice"),
+                any(LocalDateTime.class), eq(ReportStatus.APPROVED))).thenReturn(0);
+        ReportSummary current = new ReportSummary(1L, "Source", "https://example.com/1", "Politics",
+                ReportStatus.REJECTED, LocalDateTime.now(), LocalDateTime.now(), null, "bob", 0, 3L, "text");
+        when(reportRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(current));
 
         // When
-        List<FakeNewsReport> result = reportService.getApprovedReports();
+        ModerationConflictException conflict = assertThrows(ModerationConflictException.class,
+                () -> reportService.approveReport(1L, "alice", ReportStatus.PENDING, 2L));
 
         // Then
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertTrue(result.get(0).isApproved());
-        assertTrue(result.get(1).isApproved());
-        verify(reportRepository, times(1)).findByApprovedTrueOrderByApprovedAtDesc();
+        assertSame(current, conflict.getCurrent());
+        assertTrue(conflict.getMessage().contains("already rejected by bob"));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void testGetPendingReports_DelegatesToRepository() {
+    void testApproveReport_ClaimedByAnotherModerator_ThrowsConflictNamingTheHolder() {
         // Given
-        FakeNewsReport report1 = new FakeNewsReport();
-        report1.setId(1L);
-        report1.setNewsSource("Pending Source 1");
-        report1.setApproved(false);
+        when(reportRepository.approveIfUnchanged(eq(1L), eq(ReportStatus.PENDING), eq(2L), eq("alice"),
+                any(LocalDateTime.class), eq(ReportStatus.APPROVED))).thenReturn(0);
+        ReportSummary current = new ReportSummary(1L, "Source", "https://example.com/1", "Politics",
+                ReportStatus.PENDING, LocalDateTime.now(), null, null, null, 0, 2L, "text");
+        when(reportRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(current));
+        when(reportRepository.findLeaseHolder(eq(1L), any(LocalDateTime.class))).thenReturn(Optional.of("bob"));
 
-        FakeNewsReport report2 = new FakeNewsReport();
-        report2.setId(2L);
-        report2.setNewsSource("Pending Source 2");
-        report2.setApproved(false);
+        // When
+        ModerationConflictException conflict = assertThrows(ModerationConflictException.class,
+                () -> reportService.approveReport(1L, "alice", ReportStatus.PENDING, 2L));
 
-        List<FakeNewsReport> pendingReports = Arrays.asList(report1, report2);
-        when(reportRepository.findByApprovedFalseAndRejectedAtIsNullOrderByReportedAtDesc()).thenReturn(pendingReports);
+        // Then
+        assertTrue(conflict.getMessage().contains("claimed by bob"));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testGetPendingReports_DelegatesToRepository() {
+        // Given
+        List<ReportSummary> pendingReports = Arrays.asList(
+                summary(1L, ReportStatus.PENDING, null),
+                summary(2L, ReportStatus.PENDING, null));
+        when(reportRepository.findByStatusOrderByReportedAtDescIdDesc(ReportStatus.PENDING)).thenReturn(pendingReports);
 
         // When
-        List<FakeNewsReport> result = reportService.getPendingReports();
+        List<ReportSummary> result = reportService.getPendingReports();
 
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
         assertFalse(result.get(0).isApproved());
         assertFalse(result.get(1).isApproved());
-        verify(reportRepository, times(1)).findByApprovedFalseAndRejectedAtIsNullOrderByReportedAtDesc();
+        verify(reportRepository, times(1)).findByStatusOrderByReportedAtDescIdDesc(ReportStatus.PENDING);
     }
 
     @Test
-    void testRejectReport_SetsAllFields() {
+    void testRejectReport_GuardsUpdateWithCurrentStatusAndVersion() {
         // Given
-        FakeNewsReport report = new FakeNewsReport();
-        report.setId(1L);
-        report.setNewsSource("Fake News Daily");
-        report.setUrl("http://fakenews.com");
-        report.setCategory("Politics");
-        report.setApproved(false);
-
-        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
-        when(reportRepository.save(any(FakeNewsReport.class))).thenReturn(report);
+        when(reportRepository.findStatisticsKeysByIdIn(List.of(1L))).thenReturn(statisticsKeys(1L, ReportStatus.PENDING, 0L));
+        when(reportRepository.rejectIfUnchanged(eq(1L), eq(ReportStatus.PENDING), eq(0L), eq("admin"),
+                any(LocalDateTime.class), eq(ReportStatus.REJECTED))).thenReturn(1);
 
         // When
         reportService.rejectReport(1L, "admin");
 
         // Then
-        ArgumentCaptor<FakeNewsReport> captor = ArgumentCaptor.forClass(FakeNewsReport.class);
-        verify(reportRepository).save(captor.capture());
-
-        FakeNewsReport savedReport = captor.getValue();
-        assertFalse(savedReport.isApproved(), "Report should not be approved");
-        assertEquals("admin", savedReport.getRejectedBy(), "Rejected by should be set to 'admin'");
-        assertNotNull(savedReport.getRejectedAt(), "Rejected at timestamp should be set");
+        verify(reportRepository, never()).save(any(FakeNewsReport.class));
+        verify(eventPublisher).publishEvent(any(ReportStatusChangedEvent.class));
     }
 
     @Test
     void testRejectReport_ReportNotFound_DoesNothing() {
         // Given
-        when(reportRepository.findById(999L)).thenReturn(Optional.empty());
+        when(reportRepository.findStatisticsKeysByIdIn(List.of(999L))).thenReturn(List.of());
 
         // When
         reportService.rejectReport(999L, "admin");
 
         // Then
-        verify(reportRepository, never()).save(any(FakeNewsReport.class));
+        verify(reportRepository, never()).rejectIfUnchanged(any(), any(), anyLong(), any(), any(), any());
     }
 
     @Test
-    void testGetRejectedReports_DelegatesToRepository() {
+    void testRejectReport_DeletedMeanwhile_ThrowsConflict() {
         // Given
-        FakeNewsReport report1 = new FakeNewsReport();
-        report1.setId(1L);
-        report1.setNewsSource("Rejected Source 1");
-        report1.setApproved(false);
-        report1.setRejectedAt(LocalDateTime.now());
-        report1.setRejectedBy("admin");
-
-        FakeNewsReport report2 = new FakeNewsReport();
-        report2.setId(2L);
-        report2.setNewsSource("Rejected Source 2");
-        report2.setApproved(false);
-        report2.setRejectedAt(LocalDateTime.now());
-        report2.setRejectedBy("admin");
-
-        List<FakeNewsReport> rejectedReports = Arrays.asList(report1, report2);
-        when(reportRepository.findByRejectedAtIsNotNullOrderByRejectedAtDesc()).thenReturn(rejectedReports);
+        when(reportRepository.rejectIfUnchanged(eq(1L), eq(ReportStatus.PENDING), eq(0L), eq("admin"),
+                any(LocalDateTime.class), eq(ReportStatus.REJECTED))).thenReturn(0);
+        when(reportRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of());
 
         // When
-        List<FakeNewsReport> result = reportService.getRejectedReports();
+        ModerationConflictException conflict = assertThrows(ModerationConflictException.class,
+                () -> reportService.rejectReport(1L, "admin", ReportStatus.PENDING, 0L));
 
         // Then
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertNotNull(result.get(0).getRejectedAt());
-        assertNotNull(result.get(1).getRejectedAt());
-        verify(reportRepository, times(1)).findByRejectedAtIsNotNullOrderByRejectedAtDesc();
+        assertNull(conflict.getCurrent());
+        assertTrue(conflict.getMessage().contains("deleted"));
     }
 
     @Test
     void testGetPendingReports_ExcludesRejectedReports() {
         // Given
-        FakeNewsReport pendingReport = new FakeNewsReport();
-        pendingReport.setId(1L);
-        pendingReport.setNewsSource("Pending Source");
-        pendingReport.setApproved(false);
-        pendingReport.setRejectedAt(null); // Pending, not rejected
-
-        List<FakeNewsReport> pendingReports = Arrays.asList(pendingReport);
-        when(reportRepository.findByApprovedFalseAndRejectedAtIsNullOrderByReportedAtDesc()).thenReturn(pendingReports);
+        List<ReportSummary> pendingReports = Arrays.asList(summary(1L, ReportStatus.PENDING, null));
+        when(reportRepository.findByStatusOrderByReportedAtDescIdDesc(ReportStatus.PENDING)).thenReturn(pendingReports);
 
         // When
-        List<FakeNewsReport> result = reportService.getPendingReports();
+        List<ReportSummary> result = reportService.getPendingReports();
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertNull(result.get(0).getRejectedAt());
+        assertFalse(result.get(0).isRejected());
         assertFalse(result.get(0).isApproved());
-        verify(reportRepository, times(1)).findByApprovedFalseAndRejectedAtIsNullOrderByReportedAtDesc();
+        verify(reportRepository, times(1)).findByStatusOrderByReportedAtDescIdDesc(ReportStatus.PENDING);
+    }
+
+    @Test
+    void testGetPublicReports_FirstPage_FetchesOneExtraRowToDetectNextPage() {
+        // Given
+        ReportSummary newest = processedReport(3L, LocalDateTime.of(2024, 1, 3, 10, 0));
+        ReportSummary middle = processedReport(2L, LocalDateTime.of(2024, 1, 2, 10, 0));
+        ReportSummary oldest = processedReport(1L, LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(reportRepository.findProcessedReportsNewestFirst(PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(newest, middle, oldest));
+
+        // When
+        ReportPage<ReportSummary> page = reportService.getPublicReports(null, null, 2);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertFalse(page.hasPrevious());
+        assertTrue(page.hasNext());
+        assertEquals(new ReportCursor(middle.getProcessedAt(), 2L), page.getNextCursor());
+    }
+
+    @Test
+    void testGetPublicReports_BeforeCursor_LinksBackToNewerPage() {
+        // Given
+        ReportCursor cursor = new ReportCursor(LocalDateTime.of(2024, 1, 2, 10, 0), 2L);
+        ReportSummary oldest = processedReport(1L, LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(reportRepository.findProcessedReportsBefore(cursor.getTimestamp(), 2L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(oldest));
+
+        // When
+        ReportPage<ReportSummary> page = reportService.getPublicReports(cursor, null, 2);
+
+        // Then
+        assertEquals(List.of(oldest), page.getItems());
+        assertFalse(page.hasNext());
+        assertEquals(new ReportCursor(oldest.getProcessedAt(), 1L), page.getPreviousCursor());
+    }
+
+    @Test
+    void testGetPublicReports_AfterCursor_ReturnsItemsNewestFirst() {
+        // Given
+        ReportCursor cursor = new ReportCursor(LocalDateTime.of(2024, 1, 1, 10, 0), 1L);
+        ReportSummary second = processedReport(2L, LocalDateTime.of(2024, 1, 2, 10, 0));
+        ReportSummary third = processedReport(3L, LocalDateTime.of(2024, 1, 3, 10, 0));
+        ReportSummary fourth = processedReport(4L, LocalDateTime.of(2024, 1, 4, 10, 0));
+        when(reportRepository.findProcessedReportsAfter(cursor.getTimestamp(), 1L, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(second, third, fourth));
+
+        // When
+        ReportPage<ReportSummary> page = reportService.getPublicReports(null, cursor, 2);
+
+        // Then
+        assertEquals(List.of(third, second), page.getItems());
+        assertEquals(new ReportCursor(third.getProcessedAt(), 3L), page.getPreviousCursor());
+        assertEquals(new ReportCursor(second.getProcessedAt(), 2L), page.getNextCursor());
+    }
+
+    @Test
+    void testGetPublicReports_ClampsRequestedPageSize() {
+        // Given
+        when(reportRepository.findProcessedReportsNewestFirst(any(Pageable.class))).thenReturn(List.of());
+
+        // When
+        ReportPage<ReportSummary> page = reportService.getPublicReports(null, null, 10_000);
+
+        // Then
+        assertEquals(100, page.getSize());
+        verify(reportRepository).findProcessedReportsNewestFirst(PageRequest.of(0, 101));
+    }
+
+    @Test
+    void testApproveReports_IssuesOneStatementPerChunkOfDistinctIds() {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1_200; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        when(reportRepository.approveAll(anyList(), eq("admin"), any(LocalDateTime.class), eq(ReportStatus.APPROVED)))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // When
+        int approved = reportService.approveReports(ids, "admin");
+
+        // Then
+        assertEquals(1_200, approved);
+        verify(reportRepository, times(3))
+                .approveAll(anyList(), eq("admin"), any(LocalDateTime.class), eq(ReportStatus.APPROVED));
+    }
+
+    @Test
+    void testApproveReports_PublishesTransitionsOnlyForReportsThatChangeStatus() {
+        // Given
+        LocalDateTime reportedAt = LocalDateTime.of(2024, 3, 1, 10, 0);
+        when(reportRepository.findStatisticsKeysByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                new ReportStatisticsKey(1L, "Politics", "Daily", reportedAt, ReportStatus.PENDING, 0L),
+                new ReportStatisticsKey(2L, "Health", "Weekly", reportedAt, ReportStatus.APPROVED, 0L)));
+        when(reportRepository.approveAll(anyList(), eq("admin"), any(LocalDateTime.class), eq(ReportStatus.APPROVED)))
+                .thenReturn(2);
+
+        // When
+        reportService.approveReports(List.of(1L, 2L), "admin");
+
+        // Then
+        ArgumentCaptor<ReportStatusChangedEvent> event = ArgumentCaptor.forClass(ReportStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        List<ReportStatusChangedEvent.Transition> transitions = event.getValue().getTransitions();
+        assertEquals(1, transitions.size());
+        assertEquals(1L, transitions.get(0).getReportId());
+        assertEquals("Politics", transitions.get(0).getCategory());
+        assertEquals(ReportStatus.PENDING, transitions.get(0).getFrom());
+        assertEquals(ReportStatus.APPROVED, transitions.get(0).getTo());
+    }
+
+    @Test
+    void testDeleteMatching_PagesThroughMatchingIdsByKeyset() {
+        // Given
+        ReportFilter filter = new ReportFilter();
+        filter.setCategory("Politics");
+        List<Long> firstChunk = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            firstChunk.add(id);
+        }
+        when(reportRepository.findIdsMatching(eq("Politics"), isNull(), isNull(), isNull(), isNull(), eq(0L), any(Pageable.class)))
+                .thenReturn(firstChunk);
+        when(reportRepository.findIdsMatching(eq("Politics"), isNull(), isNull(), isNull(), isNull(), eq(500L), any(Pageable.class)))
+                .thenReturn(List.of(501L, 502L));
+        when(reportRepository.deleteAllByIds(anyList()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // When
+        int deleted = reportService.deleteMatching(filter);
+
+        // Then
+        assertEquals(502, deleted);
+        verify(reportRepository).deleteAllByIds(List.of(501L, 502L));
+    }
+
+    @Test
+    void testDeleteMatching_RejectsEmptyFilter() {
+        assertThrows(IllegalArgumentException.class, () -> reportService.deleteMatching(new ReportFilter()));
+        verify(reportRepository, never()).deleteAllByIds(anyList());
+    }
+
+    @Test
+    void testGetModerationPage_PendingFollowsSubmissionTimeCursor() {
+        // Given
+        ReportFilter filter = new ReportFilter();
+        filter.setCategory("Health");
+        ReportCursor before = new ReportCursor(LocalDateTime.of(2024, 5, 1, 12, 0), 40L);
+        List<ReportSummary> rows = new ArrayList<>();
+        for (long id = 39; id >= 37; id--) {
+            rows.add(new ReportSummary(id, "Source " + id, "https://example.com/" + id, "Health", ReportStatus.PENDING,
+                    LocalDateTime.of(2024, 5, 1, 11, (int) id), null, null, null, 0, "Description"));
+        }
+        when(reportRepository.findByStatusMatchingReportedBefore(eq(ReportStatus.PENDING), eq("Health"), isNull(),
+                isNull(), isNull(), eq("admin"), any(LocalDateTime.class), eq(before.getTimestamp()), eq(40L),
+                eq(PageRequest.of(0, 3)))).thenReturn(rows);
+
+        // When
+        ReportPage<ReportSummary> page = reportService.getModerationPage(ReportStatus.PENDING, filter, before, 2, "admin");
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertEquals(new ReportCursor(LocalDateTime.of(2024, 5, 1, 11, 38), 38L), page.getNextCursor());
+        verify(reportRepository, never()).findByStatusMatchingProcessedBefore(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testCountReportsByStatus_FillsMissingStatusesWithZero() {
+        // Given
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{ReportStatus.APPROVED, 12L});
+        when(reportRepository.countByStatusMatching(null, null, null, null)).thenReturn(rows);
+
+        // When
+        Map<ReportStatus, Long> counts = reportService.countReportsByStatus(new ReportFilter());
+
+        // Then
+        assertEquals(0L, counts.get(ReportStatus.PENDING));
+        assertEquals(12L, counts.get(ReportStatus.APPROVED));
+        assertEquals(0L, counts.get(ReportStatus.REJECTED));
+    }
+
+    @Test
+    void testGetPublicReport_HidesPendingReports() {
+        // Given
+        FakeNewsReport pending = new FakeNewsReport();
+        pending.setId(1L);
+        when(reportRepository.findById(1L)).thenReturn(Optional.of(pending));
+
+        // When
+        Optional<FakeNewsReport> result = reportService.getPublicReport(1L);
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testGetPublicReport_FallsBackToArchive() {
+        // Given
+        FakeNewsReport archived = new FakeNewsReport();
+        archived.setId(1L);
+        archived.markApproved("admin", LocalDateTime.of(2024, 1, 1, 10, 0));
+        archived.setArchivedAt(LocalDateTime.of(2024, 7, 1, 4, 0));
+        when(reportRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archiveRepository.findById(1L)).thenReturn(Optional.of(archived));
+
+        // When
+        Optional<FakeNewsReport> result = reportService.getPublicReport(1L);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertTrue(result.get().isArchived());
+    }
+
+    @Test
+    void testGetPublicReports_ContinuesIntoArchive() {
+        // Given
+        ReportSummary newest = processedReport(3L, LocalDateTime.of(2024, 1, 3, 10, 0));
+        ReportSummary middle = processedReport(2L, LocalDateTime.of(2024, 1, 2, 10, 0));
+        ReportSummary oldest = processedReport(1L, LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(reportRepository.findProcessedReportsNewestFirst(PageRequest.of(0, 3))).thenReturn(List.of(newest));
+        when(archiveRepository.findNewestFirst(3)).thenReturn(List.of(middle, oldest));
+
+        // When
+        ReportPage<ReportSummary> page = reportService.getPublicReports(null, null, 2);
+
+        // Then
+        assertEquals(List.of(newest, middle), page.getItems());
+        assertEquals(new ReportCursor(middle.getProcessedAt(), 2L), page.getNextCursor());
+    }
+
+    @Test
+    void testArchiveDecidedBefore_MovesLockedReportsAndPublishesArchival() {
+        // Given
+        LocalDateTime cutoff = LocalDateTime.of(2024, 1, 1, 0, 0);
+        FakeNewsReport report = new FakeNewsReport();
+        report.setId(5L);
+        when(archiveRepository.tryLockArchival()).thenReturn(true);
+        when(reportRepository.lockArchivableIds(cutoff, 100)).thenReturn(List.of(5L));
+        when(reportRepository.findAllById(List.of(5L))).thenReturn(List.of(report));
+
+        // When
+        int archived = reportService.archiveDecidedBefore(cutoff, 100);
+
+        // Then
+        assertEquals(1, archived);
+        verify(archiveRepository).archive(eq(List.of(report)), any(LocalDateTime.class));
+        verify(reportRepository).deleteAllByIdInBatch(List.of(5L));
+        ArgumentCaptor<ReportChangedEvent> event = ArgumentCaptor.forClass(ReportChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().isArchived());
+        assertFalse(event.getValue().isDeleted());
+    }
+
+    @Test
+    void testArchiveDecidedBefore_AnotherInstanceArchiving_DoesNothing() {
+        // Given
+        when(archiveRepository.tryLockArchival()).thenReturn(false);
+
+        // When
+        int archived = reportService.archiveDecidedBefore(LocalDateTime.now(), 100);
+
+        // Then
+        assertEquals(0, archived);
+        verify(reportRepository, never()).lockArchivableIds(any(), anyInt());
+    }
+
+    private static ReportSummary processedReport(Long id, LocalDateTime approvedAt) {
+        return summary(id, ReportStatus.APPROVED, approvedAt);
+    }
+
+    private static ReportSummary summary(Long id, ReportStatus status, LocalDateTime processedAt) {
+        return new ReportSummary(id, "Source " + id, "https://example.com/" + id, "Politics", status,
+                LocalDateTime.of(2024, 1, 1, 9, 0), processedAt,
+                status == ReportStatus.APPROVED ? "admin" : null,
+                status == ReportStatus.REJECTED ? "admin" : null,
+                0, "Description " + id);
+    }
+
+    @Test
+    void testExportReports_StreamsEveryMatchingRowToSink() {
+        // Given
+        ReportFilter filter = new ReportFilter();
+        filter.setCategory("Health");
+        filter.setStatus(ReportStatus.APPROVED);
+        ReportExportRow first = exportRow(1L);
+        ReportExportRow second = exportRow(2L);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(reportRepository.streamForExport("Health", null, ReportStatus.APPROVED, null, null))
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        List<ReportExportRow> written = new ArrayList<>();
+
+        // When
+        long count = reportService.exportReports(filter, written::add);
+
+        // Then
+        assertEquals(2, count);
+        assertEquals(List.of(first, second), written);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testExportReports_AppendsMatchingArchivedReports() {
+        // Given
+        ReportFilter filter = new ReportFilter();
+        filter.setStatus(ReportStatus.APPROVED);
+        ReportExportRow live = exportRow(9L);
+        ReportExportRow archived = exportRow(1L);
+        when(reportRepository.streamForExport(null, null, ReportStatus.APPROVED, null, null)).thenReturn(Stream.of(live));
+        when(archiveRepository.exportMatching(eq(null), eq(null), eq(ReportStatus.APPROVED), eq(null), eq(null),
+                anyInt(), any())).thenAnswer(invocation -> {
+                    Consumer<ReportExportRow> sink = invocation.getArgument(6);
+                    sink.accept(archived);
+                    return 1L;
+                });
+        List<ReportExportRow> written = new ArrayList<>();
+
+        // When
+        long count = reportService.exportReports(filter, written::add);
+
+        // Then
+        assertEquals(2, count);
+        assertEquals(List.of(live, archived), written);
+    }
+
+    @Test
+    void testImportReports_SkipsKnownUrlsAndDuplicatesWithinChunk() {
+        // Given
+        FakeNewsReport known = new FakeNewsReport();
+        known.setUrl("https://example.com/known");
+        FakeNewsReport fresh = new FakeNewsReport();
+        fresh.setUrl("https://example.com/fresh");
+        FakeNewsReport freshAgain = new FakeNewsReport();
+        freshAgain.setUrl("https://www.example.com/fresh/");
+        when(duplicateDetector.findExisting(anyCollection()))
+                .thenReturn(Set.of(UrlNormalizer.hash("https://example.com/known")));
+        when(reportRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            List<FakeNewsReport> persisted = new ArrayList<>(invocation.getArgument(0));
+            persisted.forEach(report -> report.setId(2L));
+            return persisted;
+        });
+
+        // When
+        List<FakeNewsReport> saved = reportService.importReports(List.of(known, fresh, freshAgain));
+
+        // Then
+        assertEquals(List.of(fresh), saved);
+        verify(duplicateDetector).register(UrlNormalizer.hash("https://example.com/fresh"));
+        verify(reportRepository, never()).incrementDuplicateCount(anyLong(), anyInt());
+    }
+
+    private static List<ReportStatisticsKey> statisticsKeys(Long id, ReportStatus status, long version) {
+        return List.of(new ReportStatisticsKey(id, "Politics", "Daily", LocalDateTime.now(), status, version));
+    }
+
+    private static ReportExportRow exportRow(Long id) {
+        return new ReportExportRow(id, "Source", "https://example.com/" + id, "Health", "Description",
+                ReportStatus.APPROVED, LocalDateTime.now(), LocalDateTime.now(), "admin", null, 0);
     }
 }
@@ -0,0 +1,81 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.dto.ReportSummary;
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.repository.FakeNewsReportRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ModerationQueueServiceTest {
+
+    @Mock
+    private FakeNewsReportRepository reportRepository;
+
+    @InjectMocks
+    private ModerationQueueService queueService;
+
+    @Test
+    void testClaimNext_LeasesLockedReportsToModerator() {
+        // Given
+        when(reportRepository.countClaimedBy(eq("alice"), any(LocalDateTime.class), eq(ReportStatus.PENDING))).thenReturn(0L);
+        when(reportRepository.lockClaimableIds(any(LocalDateTime.class), eq(10))).thenReturn(List.of(3L, 4L));
+        List<ReportSummary> held = List.of(summary(3L), summary(4L));
+        when(reportRepository.findClaimedBy(eq("alice"), any(LocalDateTime.class), eq(ReportStatus.PENDING))).thenReturn(held);
+
+        // When
+        List<ReportSummary> result = queueService.claimNext("alice", 10);
+
+        // Then
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(reportRepository).claim(eq(List.of(3L, 4L)), eq("alice"), until.capture(), now.capture(), eq(ReportStatus.PENDING));
+        assertEquals(Duration.ofMinutes(15), Duration.between(now.getValue(), until.getValue()));
+        assertEquals(held, result);
+    }
+
+    @Test
+    void testClaimNext_NeverExceedsMaxClaimed() {
+        // Given
+        when(reportRepository.countClaimedBy(eq("alice"), any(LocalDateTime.class), eq(ReportStatus.PENDING))).thenReturn(45L);
+        when(reportRepository.lockClaimableIds(any(LocalDateTime.class), eq(5))).thenReturn(List.of());
+
+        // When
+        queueService.claimNext("alice", 10);
+
+        // Then
+        verify(reportRepository, never()).claim(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testClaimNext_FullQueue_DoesNotLockAnything() {
+        // Given
+        when(reportRepository.countClaimedBy(eq("alice"), any(LocalDateTime.class), eq(ReportStatus.PENDING))).thenReturn(50L);
+
+        // When
+        queueService.claimNext("alice", 10);
+
+        // Then
+        verify(reportRepository, never()).lockClaimableIds(any(), anyInt());
+        verify(reportRepository).findClaimedBy(eq("alice"), any(LocalDateTime.class), eq(ReportStatus.PENDING));
+    }
+
+    private static ReportSummary summary(Long id) {
+        return new ReportSummary(id, "Source", "https://example.com/" + id, "Politics", ReportStatus.PENDING,
+                LocalDateTime.now(), null, null, null, 0, "text");
+    }
+}
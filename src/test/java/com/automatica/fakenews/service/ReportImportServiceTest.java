@@ -0,0 +1,141 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.model.FakeNewsReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportImportServiceTest {
+
+    @Mock
+    private FakeNewsReportService reportService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ReportImportService importService;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+    }
+
+    @Test
+    void testRun_CsvImportsValidRowsInChunksAndReportsInvalidOnes() throws Exception {
+        // Given
+        Path file = write("reports.csv", "news_source,url,category,description\r\n" +
+                "Daily,https://example.com/1,Politics,\"Claims, with a comma\"\r\n" +
+                ",https://example.com/2,Health,Missing source\r\n" +
+                "Weekly,https://example.com/3,Science,\"Spans\ntwo lines\"\r\n" +
+                "Monthly,https://example.com/4,Other,\r\n");
+        List<List<String>> chunks = new ArrayList<>();
+        when(reportService.importReports(anyList())).thenAnswer(invocation -> {
+            List<FakeNewsReport> chunk = invocation.getArgument(0);
+            chunks.add(chunk.stream().map(FakeNewsReport::getUrl).toList());
+            return chunk.subList(0, 1);
+        });
+        ReportImportJob job = new ReportImportJob("reports.csv", ReportImportJob.Format.CSV, Files.size(file), 10);
+
+        // When
+        importService.run(job, file);
+
+        // Then
+        assertEquals(ReportImportJob.State.COMPLETED, job.getState());
+        assertEquals(List.of(List.of("https://example.com/1", "https://example.com/3"), List.of("https://example.com/4")), chunks);
+        assertEquals(4, job.getRowsRead());
+        assertEquals(2, job.getImported());
+        assertEquals(1, job.getDuplicates());
+        assertEquals(List.of("Line 3: News source is required"), job.getErrors());
+        assertEquals(100, job.getPercentComplete());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void testRun_GzipNdjsonSkipsMalformedLines() throws Exception {
+        // Given
+        Path file = directory.resolve("reports.ndjson.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(("{\"newsSource\":\"Daily\",\"url\":\"https://example.com/1\",\"category\":\"Politics\"}\n" +
+                    "{not json}\n" +
+                    "\n" +
+                    "{\"newsSource\":\"Weekly\",\"url\":\"https://example.com/2\",\"category\":\"Health\"}\n")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        when(reportService.importReports(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        ReportImportJob job = new ReportImportJob("reports.ndjson.gz", ReportImportJob.Format.NDJSON, Files.size(file), 10);
+
+        // When
+        importService.run(job, file);
+
+        // Then
+        assertEquals(ReportImportJob.State.COMPLETED, job.getState());
+        assertEquals(2, job.getImported());
+        assertEquals(1, job.getInvalid());
+        assertTrue(job.getErrors().get(0).startsWith("Line 2: Invalid JSON"));
+    }
+
+    @Test
+    void testRun_FailedChunkIsRetriedRowByRow() throws Exception {
+        // Given
+        Path file = write("reports.csv", "url,news_source,category\n" +
+                "https://example.com/1,Daily,Politics\n" +
+                "https://example.com/2,Weekly,Health\n");
+        when(reportService.importReports(anyList())).thenAnswer(invocation -> {
+            List<FakeNewsReport> chunk = invocation.getArgument(0);
+            if (chunk.size() > 1 || chunk.get(0).getUrl().endsWith("/2")) {
+                throw new IllegalStateException("value too long");
+            }
+            return chunk;
+        });
+        ReportImportJob job = new ReportImportJob("reports.csv", ReportImportJob.Format.CSV, Files.size(file), 10);
+
+        // When
+        importService.run(job, file);
+
+        // Then
+        assertEquals(1, job.getImported());
+        assertEquals(List.of("Line 3: value too long"), job.getErrors());
+        verify(reportService, times(3)).importReports(anyList());
+    }
+
+    @Test
+    void testResolveFormat_UsesParameterOrFileExtension() {
+        assertEquals(ReportImportJob.Format.CSV, ReportImportService.resolveFormat(null, "partner.CSV.gz"));
+        assertEquals(ReportImportJob.Format.NDJSON, ReportImportService.resolveFormat(null, "partner.jsonl"));
+        assertEquals(ReportImportJob.Format.NDJSON, ReportImportService.resolveFormat("ndjson", "upload.bin"));
+        assertThrows(IllegalArgumentException.class, () -> ReportImportService.resolveFormat(null, "partner.xlsx"));
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(directory.resolve(name), content);
+    }
+}
@@ -0,0 +1,175 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.config.BackgroundThreads;
+import com.automatica.fakenews.model.FakeNewsReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportIngestionServiceTest {
+
+    @Mock
+    private FakeNewsReportService reportService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BackgroundThreads backgroundThreads = new BackgroundThreads();
+
+    @InjectMocks
+    private ReportIngestionService ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ingestionService, "queueCapacity", 2);
+        ReflectionTestUtils.setField(ingestionService, "batchSize", 50);
+        ReflectionTestUtils.setField(ingestionService, "flushInterval", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(ingestionService, "shutdownTimeout", Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testSubmit_SynchronousMode_SavesImmediately() {
+        // Given
+        FakeNewsReport report = report("https://example.com/1");
+
+        // When
+        ingestionService.submit(report);
+
+        // Then
+        verify(reportService).saveReport(report);
+        verify(reportService, never()).saveReports(anyList());
+    }
+
+    @Test
+    void testSubmit_AsyncMode_RejectsWhenQueueIsFull() throws InterruptedException {
+        // Given
+        ReflectionTestUtils.setField(ingestionService, "async", true);
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        when(reportService.saveReports(anyList())).thenAnswer(invocation -> {
+            writerBusy.countDown();
+            releaseWriter.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        ingestionService.start();
+
+        try {
+            // When
+            ingestionService.submit(report("https://example.com/in-flight"));
+            assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+            ingestionService.submit(report("https://example.com/queued-1"));
+            ingestionService.submit(report("https://example.com/queued-2"));
+
+            // Then
+            assertThrows(SubmissionRejectedException.class,
+                    () -> ingestionService.submit(report("https://example.com/overflow")));
+            assertEquals(2, ingestionService.getQueueDepth());
+            assertEquals(3, meterRegistry.counter("fakenews.submissions", "outcome", "accepted").count());
+            assertEquals(1, meterRegistry.counter("fakenews.submissions", "outcome", "rejected").count());
+        } finally {
+            releaseWriter.countDown();
+            ingestionService.stop();
+        }
+    }
+
+    @Test
+    void testStop_DrainsQueuedSubmissionsInBatches() {
+        // Given
+        ReflectionTestUtils.setField(ingestionService, "async", true);
+        ReflectionTestUtils.setField(ingestionService, "queueCapacity", 100);
+        List<FakeNewsReport> saved = new ArrayList<>();
+        when(reportService.saveReports(anyList())).thenAnswer(invocation -> {
+            List<FakeNewsReport> batch = invocation.getArgument(0);
+            synchronized (saved) {
+                saved.addAll(batch);
+            }
+            return batch;
+        });
+        ingestionService.start();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            ingestionService.submit(report("https://example.com/" + i));
+        }
+        ingestionService.stop();
+
+        // Then
+        assertEquals(10, saved.size());
+        assertFalse(ingestionService.isRunning());
+        assertThrows(SubmissionRejectedException.class,
+                () -> ingestionService.submit(report("https://example.com/late")));
+    }
+
+    @Test
+    void testFlush_BatchFailure_RetriesReportsIndividually() {
+        // Given
+        FakeNewsReport first = report("https://example.com/1");
+        FakeNewsReport second = report("https://example.com/2");
+        when(reportService.saveReports(anyList())).thenThrow(new IllegalStateException("constraint violation"));
+        when(reportService.saveReport(first)).thenThrow(new IllegalStateException("constraint violation"));
+
+        // When
+        ingestionService.flush(List.of(first, second));
+
+        // Then
+        verify(reportService).saveReport(first);
+        verify(reportService).saveReport(second);
+        verify(reportService, times(2)).saveReport(any(FakeNewsReport.class));
+    }
+
+    @Test
+    void testFlush_BatchFailureWithDuplicatesInBatch_RetriesWithoutFoldedCounts() {
+        // Given
+        FakeNewsReport first = report("https://example.com/1");
+        FakeNewsReport duplicate = report("https://example.com/1");
+        when(reportService.saveReports(anyList())).thenAnswer(invocation -> {
+            // The batch folded the duplicate into the first report before its insert failed
+            first.setCanonicalUrlHash(UrlNormalizer.hash(first.getUrl()));
+            first.setDuplicateCount(1);
+            first.setId(10L);
+            throw new IllegalStateException("constraint violation");
+        });
+        List<Integer> retriedCounts = new ArrayList<>();
+        when(reportService.saveReport(any(FakeNewsReport.class))).thenAnswer(invocation -> {
+            FakeNewsReport report = invocation.getArgument(0);
+            retriedCounts.add(report.getDuplicateCount());
+            assertNull(report.getId());
+            assertNull(report.getCanonicalUrlHash());
+            return report;
+        });
+
+        // When
+        ingestionService.flush(List.of(first, duplicate));
+
+        // Then
+        assertEquals(List.of(0, 0), retriedCounts);
+    }
+
+    private static FakeNewsReport report(String url) {
+        FakeNewsReport report = new FakeNewsReport();
+        report.setNewsSource("Source");
+        report.setUrl(url);
+        report.setCategory("Politics");
+        return report;
+    }
+}
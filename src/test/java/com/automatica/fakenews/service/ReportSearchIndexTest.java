@@ -0,0 +1,88 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.model.FakeNewsReport;
+import com.automatica.fakenews.model.ReportStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportSearchIndexTest {
+
+    private ReportSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ReportSearchIndex(null);
+        index.index(List.of(
+                report(1L, "Daily Truth", "https://dailytruth.example/vaccines", "Health", "Claims vaccines contain microchips"),
+                report(2L, "Election Watch", "https://electionwatch.example/ballots", "Politics", "Invented ballot fraud story"),
+                report(3L, "Health Insider", "https://healthinsider.example/diet", "Health", "Miracle diet cures everything")));
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void testSearch_MatchesSourceUrlAndDescription() {
+        assertEquals(List.of(1L), index.search("microchips", null, null, 0, 10).getIds());
+        assertEquals(List.of(2L), index.search("electionwatch", null, null, 0, 10).getIds());
+        assertEquals(List.of(3L), index.search("insider", null, null, 0, 10).getIds());
+    }
+
+    @Test
+    void testSearch_FiltersByCategoryAndStatus() {
+        // Given
+        FakeNewsReport approved = report(3L, "Health Insider", "https://healthinsider.example/diet", "Health", "Miracle diet cures everything");
+        approved.markApproved("admin", LocalDateTime.now());
+        index.index(List.of(approved));
+        index.refresh();
+
+        // When
+        ReportSearchIndex.Hits health = index.search("", "Health", null, 0, 10);
+        ReportSearchIndex.Hits approvedHealth = index.search(null, "Health", ReportStatus.APPROVED, 0, 10);
+
+        // Then
+        assertEquals(List.of(3L, 1L), health.getIds());
+        assertEquals(2, health.getTotal());
+        assertEquals(List.of(3L), approvedHealth.getIds());
+    }
+
+    @Test
+    void testDelete_RemovesReportFromResults() {
+        // When
+        index.delete(List.of(1L));
+        index.refresh();
+
+        // Then
+        assertTrue(index.search("microchips", null, null, 0, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void testSearch_OffsetSkipsEarlierHits() {
+        // When
+        ReportSearchIndex.Hits secondPage = index.search(null, null, null, 2, 2);
+
+        // Then
+        assertEquals(List.of(1L), secondPage.getIds());
+        assertEquals(3, secondPage.getTotal());
+    }
+
+    private static FakeNewsReport report(Long id, String source, String url, String category, String description) {
+        FakeNewsReport report = new FakeNewsReport();
+        report.setId(id);
+        report.setNewsSource(source);
+        report.setUrl(url);
+        report.setCategory(category);
+        report.setDescription(description);
+        return report;
+    }
+}
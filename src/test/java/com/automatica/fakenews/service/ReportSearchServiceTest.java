@@ -0,0 +1,107 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.config.BackgroundThreads;
+import com.automatica.fakenews.dto.ReportSearchResults;
+import com.automatica.fakenews.dto.ReportSummary;
+import com.automatica.fakenews.model.FakeNewsReport;
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.repository.FakeNewsReportRepository;
+import com.automatica.fakenews.repository.ReportArchiveRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportSearchServiceTest {
+
+    @Mock
+    private FakeNewsReportRepository reportRepository;
+
+    @Mock
+    private ReportArchiveRepository archiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private BackgroundThreads backgroundThreads = new BackgroundThreads();
+
+    @InjectMocks
+    private ReportSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(searchService, "indexPath", "");
+        searchService.init();
+        FakeNewsReport report = new FakeNewsReport();
+        report.setId(1L);
+        report.setNewsSource("Daily Truth");
+        report.setUrl("https://dailytruth.example/vaccines");
+        report.setCategory("Health");
+        report.setDescription("Claims vaccines contain microchips");
+        report.setReportedAt(LocalDateTime.now());
+        ReportSearchIndex index = (ReportSearchIndex) ReflectionTestUtils.getField(searchService, "index");
+        index.index(List.of(report));
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        searchService.close();
+    }
+
+    @Test
+    void testSearch_PageBeyondInt_ReturnsEmptyPage() {
+        // When
+        ReportSearchResults results = searchService.search("microchips", null, null, Integer.MAX_VALUE, 100);
+
+        // Then
+        assertTrue(results.isEmpty());
+        assertEquals(1, results.getTotalHits());
+        assertEquals(Integer.MAX_VALUE, results.getPage());
+        assertFalse(results.hasNext());
+        verifyNoInteractions(reportRepository);
+    }
+
+    @Test
+    void testSearch_ArchivedReportStaysSearchable() {
+        // Given
+        searchService.apply(ReportChangedEvent.archived(List.of(1L)));
+        ReportSummary archived = new ReportSummary(1L, "Daily Truth", "https://dailytruth.example/vaccines", "Health",
+                ReportStatus.APPROVED, LocalDateTime.now(), LocalDateTime.now(), "admin", null, 0,
+                "Claims vaccines contain microchips");
+        when(reportRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of());
+        when(archiveRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(archived));
+
+        // When
+        ReportSearchResults results = searchService.search("microchips", null, null, 0, 10);
+
+        // Then
+        assertEquals(1, results.getTotalHits());
+        assertEquals(List.of(archived), results.getItems());
+    }
+
+    @Test
+    void testApply_DeletedReportsLeaveTheIndex() {
+        // When
+        searchService.apply(ReportChangedEvent.deleted(List.of(1L)));
+
+        // Then
+        ReportSearchResults results = searchService.search("microchips", null, null, 0, 10);
+        assertEquals(0, results.getTotalHits());
+        verifyNoInteractions(reportRepository, archiveRepository);
+    }
+}
@@ -0,0 +1,294 @@
+package com.automatica.fakenews.service;
+
+import com.automatica.fakenews.dto.StatisticsRow;
+import com.automatica.fakenews.model.ReportStatistic;
+import com.automatica.fakenews.model.ReportStatisticId;
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.model.StatisticsDimension;
+import com.automatica.fakenews.model.StatisticsReconciliation;
+import com.automatica.fakenews.repository.AdvisoryLockRepository;
+import com.automatica.fakenews.repository.FakeNewsReportRepository;
+import com.automatica.fakenews.repository.ReportStatisticRepository;
+import com.automatica.fakenews.repository.StatisticsReconciliationRepository;
+import com.automatica.fakenews.service.ReportStatusChangedEvent.Transition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportStatisticsServiceTest {
+
+    private static final LocalDateTime REPORTED_AT = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Mock
+    private ReportStatisticRepository statisticRepository;
+
+    @Mock
+    private FakeNewsReportRepository reportRepository;
+
+    @Mock
+    private StatisticsReconciliationRepository reconciliationRepository;
+
+    @Mock
+    private AdvisoryLockRepository advisoryLocks;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ReportStatisticsService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        statisticsService.init();
+        lenient().when(statisticRepository.currentDatabaseTime()).thenAnswer(invocation -> LocalDateTime.now());
+    }
+
+    @Test
+    void testGetStatistics_AddsUnflushedChangesToStoredCounts() {
+        // Given
+        when(statisticRepository.findByIdDimension(StatisticsDimension.CATEGORY)).thenReturn(List.of(
+                new ReportStatistic(id(StatisticsDimension.CATEGORY, "Politics", ReportStatus.PENDING), 5)));
+        statisticsService.onStatusChanged(event(
+                new Transition(1L, "Politics", "Daily", REPORTED_AT, ReportStatus.PENDING, ReportStatus.APPROVED),
+                new Transition(1L, "Health", "Daily", REPORTED_AT, null, ReportStatus.PENDING)));
+
+        // When
+        List<StatisticsRow> rows = statisticsService.getStatistics(StatisticsDimension.CATEGORY, 10);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertEquals("Health", rows.get(0).getValue());
+        assertEquals(1, rows.get(0).getPending());
+        assertEquals("Politics", rows.get(1).getValue());
+        assertEquals(4, rows.get(1).getPending());
+        assertEquals(1, rows.get(1).getApproved());
+    }
+
+    @Test
+    void testFlush_WritesDeltasOnceAndInsertsMissingRows() {
+        // Given
+        statisticsService.onStatusChanged(event(
+                new Transition(1L, "Politics", "Daily", REPORTED_AT, ReportStatus.PENDING, ReportStatus.REJECTED)));
+        ReportStatisticId rejected = id(StatisticsDimension.CATEGORY, "Politics", ReportStatus.REJECTED);
+        when(statisticRepository.increment(any(ReportStatisticId.class), anyLong())).thenReturn(1);
+        when(statisticRepository.increment(rejected, 1L)).thenReturn(0);
+
+        // When
+        statisticsService.flush();
+        statisticsService.flush();
+
+        // Then
+        verify(statisticRepository).increment(id(StatisticsDimension.CATEGORY, "Politics", ReportStatus.PENDING), -1L);
+        verify(statisticRepository).increment(id(StatisticsDimension.DAY, "2024-03-01", ReportStatus.REJECTED), 1L);
+        verify(statisticRepository, times(6)).increment(any(ReportStatisticId.class), anyLong());
+        ArgumentCaptor<ReportStatistic> inserted = ArgumentCaptor.forClass(ReportStatistic.class);
+        verify(statisticRepository).saveAndFlush(inserted.capture());
+        assertEquals(rejected, inserted.getValue().getId());
+        assertEquals(1, inserted.getValue().getReportCount());
+    }
+
+    @Test
+    void testFlush_KeepsDeltasWhenWriteFails() {
+        // Given
+        statisticsService.onStatusChanged(event(new Transition(1L, "Politics", "Daily", REPORTED_AT, null, ReportStatus.PENDING)));
+        when(statisticRepository.increment(any(ReportStatisticId.class), anyLong()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        statisticsService.flush();
+
+        // Then
+        List<StatisticsRow> rows = statisticsService.getStatistics(StatisticsDimension.SOURCE, 10);
+        assertEquals(1, rows.size());
+        assertEquals(1, rows.get(0).getPending());
+    }
+
+    @Test
+    void testFlush_RetriesAfterAnotherInstanceInsertedTheRow() {
+        // Given
+        statisticsService.onStatusChanged(event(new Transition(1L, "Politics", "Daily", REPORTED_AT, null, ReportStatus.PENDING)));
+        when(statisticRepository.increment(any(ReportStatisticId.class), anyLong())).thenReturn(0, 1);
+        when(statisticRepository.saveAndFlush(any(ReportStatistic.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        statisticsService.flush();
+
+        // Then
+        verify(statisticRepository, times(4)).increment(any(ReportStatisticId.class), anyLong());
+        verify(advisoryLocks, times(2)).lockShared(anyLong());
+        assertTrue(statisticsService.getStatistics(StatisticsDimension.SOURCE, 10).isEmpty());
+    }
+
+    @Test
+    void testFlush_DropsChangesCountedByReconciliationOnAnotherInstance() {
+        // Given
+        statisticsService.onStatusChanged(event(new Transition(1L, "Politics", "Daily", REPORTED_AT, null, ReportStatus.PENDING)));
+        when(reconciliationRepository.findById(StatisticsReconciliation.ID))
+                .thenReturn(Optional.of(new StatisticsReconciliation(LocalDateTime.now().plusMinutes(1))));
+
+        // When
+        statisticsService.flush();
+
+        // Then
+        verify(statisticRepository, never()).increment(any(), anyLong());
+        assertTrue(statisticsService.getStatistics(StatisticsDimension.SOURCE, 10).isEmpty());
+    }
+
+    @Test
+    void testReconcile_ReplacesTableWithCountsAndDropsUnflushedChanges() {
+        // Given
+        statisticsService.onStatusChanged(event(new Transition(1L, "Politics", "Daily", REPORTED_AT, null, ReportStatus.PENDING)));
+        when(advisoryLocks.tryLock(anyLong())).thenReturn(true);
+        when(statisticRepository.countReports()).thenReturn(List.of(
+                count(StatisticsDimension.CATEGORY, "Politics", ReportStatus.APPROVED, 5)));
+
+        // When
+        statisticsService.reconcile();
+
+        // Then
+        verify(advisoryLocks).lock(anyLong());
+        verify(statisticRepository).deleteAllInBatch();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReportStatistic>> saved = ArgumentCaptor.forClass(List.class);
+        verify(statisticRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals(5, saved.getValue().get(0).getReportCount());
+        verify(reconciliationRepository).save(any(StatisticsReconciliation.class));
+        Map<ReportStatus, Long> totals = statisticsService.getTotals();
+        assertEquals(0L, totals.get(ReportStatus.PENDING));
+        verify(statisticRepository, never()).increment(any(), eq(1L));
+    }
+
+    @Test
+    void testReconcile_SkippedWhileAnotherInstanceReconciles() {
+        // Given
+        statisticsService.onStatusChanged(event(new Transition(1L, "Politics", "Daily", REPORTED_AT, null, ReportStatus.PENDING)));
+        when(advisoryLocks.tryLock(anyLong())).thenReturn(false);
+
+        // When
+        statisticsService.reconcile();
+
+        // Then
+        verify(statisticRepository, never()).countReports();
+        verify(statisticRepository, never()).deleteAllInBatch();
+        assertEquals(1L, statisticsService.getTotals().get(ReportStatus.PENDING));
+    }
+
+    @Test
+    void testReconcile_SplitsChangesOfOneSecondAtTheRecount() {
+        // Given
+        statisticsService.onStatusChanged(event(new Transition(1L, "Politics", "Daily", REPORTED_AT, null, ReportStatus.PENDING)));
+        when(advisoryLocks.tryLock(anyLong())).thenReturn(true);
+        when(statisticRepository.countReports()).thenAnswer(invocation -> {
+            // Committed once the count is running, within the same second as the change above
+            statisticsService.onStatusChanged(event(new Transition(2L, "Health", "Daily", REPORTED_AT, null, ReportStatus.PENDING)));
+            return List.of(count(StatisticsDimension.CATEGORY, "Politics", ReportStatus.PENDING, 1));
+        });
+        AtomicReference<StatisticsReconciliation> reconciliation = new AtomicReference<>();
+        when(reconciliationRepository.save(any(StatisticsReconciliation.class))).thenAnswer(invocation -> {
+            reconciliation.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(reconciliationRepository.findById(StatisticsReconciliation.ID))
+                .thenAnswer(invocation -> Optional.ofNullable(reconciliation.get()));
+        when(statisticRepository.increment(any(ReportStatisticId.class), anyLong())).thenReturn(1);
+
+        // When
+        statisticsService.reconcile();
+        statisticsService.flush();
+
+        // Then
+        verify(statisticRepository).increment(id(StatisticsDimension.CATEGORY, "Health", ReportStatus.PENDING), 1L);
+        verify(statisticRepository, never()).increment(eq(id(StatisticsDimension.CATEGORY, "Politics", ReportStatus.PENDING)), anyLong());
+        verify(statisticRepository, times(3)).increment(any(ReportStatisticId.class), anyLong());
+    }
+
+    @Test
+    void testReconcile_WaitsForCommittingChangesAndCountsThem() throws Exception {
+        // Given
+        when(advisoryLocks.tryLock(anyLong())).thenReturn(true);
+        when(statisticRepository.countReports()).thenReturn(List.of(
+                count(StatisticsDimension.CATEGORY, "Politics", ReportStatus.PENDING, 1)));
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            statisticsService.onStatusChanged(event(new Transition(1L, "Politics", "Daily", REPORTED_AT, null, ReportStatus.PENDING)));
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+
+        // When
+        Thread reconciliation = new Thread(statisticsService::reconcile);
+        reconciliation.start();
+        reconciliation.join(200);
+        boolean waitedForCommit = reconciliation.isAlive();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        reconciliation.join(5000);
+        statisticsService.flush();
+
+        // Then
+        assertTrue(waitedForCommit);
+        assertFalse(reconciliation.isAlive());
+        verify(statisticRepository).countReports();
+        verify(statisticRepository, never()).increment(any(), anyLong());
+        assertEquals(0L, statisticsService.getTotals().get(ReportStatus.PENDING));
+    }
+
+    private static ReportStatisticId id(StatisticsDimension dimension, String value, ReportStatus status) {
+        return new ReportStatisticId(dimension, value, status);
+    }
+
+    private static ReportStatisticRepository.Count count(StatisticsDimension dimension, String value,
+                                                         ReportStatus status, long reportCount) {
+        return new ReportStatisticRepository.Count() {
+            @Override
+            public StatisticsDimension getDimension() {
+                return dimension;
+            }
+
+            @Override
+            public String getDimensionValue() {
+                return value;
+            }
+
+            @Override
+            public ReportStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getReportCount() {
+                return reportCount;
+            }
+        };
+    }
+
+    private static ReportStatusChangedEvent event(Transition... transitions) {
+        return new ReportStatusChangedEvent(List.of(transitions));
+    }
+}
@@ -0,0 +1,54 @@
+package com.automatica.fakenews.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlNormalizerTest {
+
+    @Test
+    void testNormalize_UnifiesSchemeHostCaseAndTrailingSlash() {
+        assertEquals("https://example.com/news/story",
+                UrlNormalizer.normalize("  HTTP://WWW.Example.COM:80/news/story/  "));
+    }
+
+    @Test
+    void testNormalize_DropsTrackingParametersAndSortsTheRest() {
+        assertEquals("https://example.com/a?id=5&page=2",
+                UrlNormalizer.normalize("https://example.com/a?utm_source=fb&page=2&fbclid=xyz&id=5#comments"));
+    }
+
+    @Test
+    void testNormalize_KeepsNonDefaultPortAndAddsMissingScheme() {
+        assertEquals("https://example.com:8443/a", UrlNormalizer.normalize("https://example.com:8443/a"));
+        assertEquals("https://example.com/a", UrlNormalizer.normalize("example.com/a"));
+    }
+
+    @Test
+    void testHash_SameForEquivalentUrls() {
+        String hash = UrlNormalizer.hash("https://example.com/a?utm_campaign=x");
+
+        assertEquals(64, hash.length());
+        assertEquals(hash, UrlNormalizer.hash("http://www.example.com/a/"));
+        assertNotEquals(hash, UrlNormalizer.hash("https://example.com/b"));
+    }
+
+    @Test
+    void testBloomFilter_HasNoFalseNegatives() {
+        UrlBloomFilter filter = new UrlBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put(UrlNormalizer.hash("https://example.com/" + i));
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain(UrlNormalizer.hash("https://example.com/" + i)));
+        }
+        int falsePositives = 0;
+        for (int i = 1_000; i < 11_000; i++) {
+            if (filter.mightContain(UrlNormalizer.hash("https://example.com/" + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positive rate far above the configured 1%: " + falsePositives);
+    }
+}
@@ -0,0 +1,51 @@
+package com.automatica.fakenews.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTest {
+
+    private UserDetailsCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserDetailsCache();
+        userCache.init();
+    }
+
+    @Test
+    void testGetUserFromCache_SurvivesCredentialErasureOfReturnedUser() {
+        // Given
+        UserDetails loaded = User.withUsername("admin").password("{bcrypt}hash").roles("ADMIN").build();
+        userCache.putUserInCache(loaded);
+
+        // When
+        ((CredentialsContainer) loaded).eraseCredentials();
+        UserDetails first = userCache.getUserFromCache("admin");
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = userCache.getUserFromCache("admin");
+
+        // Then
+        assertEquals("{bcrypt}hash", second.getPassword());
+        assertEquals(loaded.getAuthorities(), second.getAuthorities());
+    }
+
+    @Test
+    void testEvict_DropsOnlyThatUser() {
+        // Given
+        userCache.putUserInCache(User.withUsername("admin").password("hash").roles("ADMIN").build());
+        userCache.putUserInCache(User.withUsername("editor").password("hash").roles("ADMIN").build());
+
+        // When
+        userCache.evict("admin");
+
+        // Then
+        assertNull(userCache.getUserFromCache("admin"));
+        assertNotNull(userCache.getUserFromCache("editor"));
+    }
+}
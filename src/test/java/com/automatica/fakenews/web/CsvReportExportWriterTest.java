@@ -0,0 +1,52 @@
+package com.automatica.fakenews.web;
+
+import com.automatica.fakenews.dto.ReportExportRow;
+import com.automatica.fakenews.model.ReportStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReportExportWriterTest {
+
+    @Test
+    void testWrite_QuotesOnlyFieldsThatNeedIt() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportExportRow row = new ReportExportRow(7L, "Daily \"Truth\", Inc.", "https://example.com/a",
+                "Politics", "Line one\nline two", ReportStatus.APPROVED, LocalDateTime.of(2024, 3, 1, 9, 30),
+                LocalDateTime.of(2024, 3, 2, 10, 0), "admin", null, 2);
+
+        // When
+        try (CsvReportExportWriter writer = new CsvReportExportWriter(out)) {
+            writer.write(row);
+        }
+
+        // Then
+        assertEquals(CsvReportExportWriter.HEADER + "\r\n" +
+                "7,\"Daily \"\"Truth\"\", Inc.\",https://example.com/a,Politics,\"Line one\nline two\",APPROVED," +
+                "2024-03-01T09:30,2024-03-02T10:00,admin,,2\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWrite_NeutralisesFormulas() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportExportRow row = new ReportExportRow(8L, "=HYPERLINK(\"https://evil.example\",\"Open\")",
+                "https://example.com/b", "+Politics", "-1 fact", ReportStatus.PENDING, LocalDateTime.of(2024, 3, 1, 9, 30),
+                null, "@admin", null, 0);
+
+        // When
+        try (CsvReportExportWriter writer = new CsvReportExportWriter(out)) {
+            writer.write(row);
+        }
+
+        // Then
+        assertEquals(CsvReportExportWriter.HEADER + "\r\n" +
+                "8,\"'=HYPERLINK(\"\"https://evil.example\"\",\"\"Open\"\")\",https://example.com/b,\"'+Politics\"," +
+                "\"'-1 fact\",PENDING,2024-03-01T09:30,,\"'@admin\",,0\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,199 @@
+package com.automatica.fakenews.web;
+
+import com.automatica.fakenews.config.BackgroundThreads;
+import com.automatica.fakenews.dto.ReportSummary;
+import com.automatica.fakenews.model.ReportStatus;
+import com.automatica.fakenews.repository.FakeNewsReportRepository;
+import com.automatica.fakenews.service.ReportStatusChangedEvent.Transition;
+import com.automatica.fakenews.web.ReportEventBroadcaster.Channel;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportEventBroadcasterTest {
+
+    private static final LocalDateTime REPORTED_AT = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Mock
+    private FakeNewsReportRepository reportRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Spy
+    private BackgroundThreads backgroundThreads = new BackgroundThreads();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ReportEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(broadcaster, "maxPublicSubscribers", 10);
+        ReflectionTestUtils.setField(broadcaster, "maxAdminSubscribers", 10);
+        ReflectionTestUtils.setField(broadcaster, "ipCapacity", 10);
+        ReflectionTestUtils.setField(broadcaster, "ipRefillPeriod", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(broadcaster, "maxClients", 100);
+        ReflectionTestUtils.setField(broadcaster, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(broadcaster, "reconnectDelay", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(broadcaster, "maxBatch", 2);
+        ReflectionTestUtils.setField(broadcaster, "fanoutThreads", 2);
+        broadcaster.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    void testBroadcast_SendsApprovalToBothChannelsAndPendingDeletionOnlyToAdmins() throws Exception {
+        // Given
+        RecordingEmitter publicSubscriber = subscribe(Channel.PUBLIC);
+        RecordingEmitter adminSubscriber = subscribe(Channel.ADMIN);
+        when(reportRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(new ReportSummary(1L, "Daily",
+                "https://example.com/1", "Politics", ReportStatus.APPROVED, REPORTED_AT, REPORTED_AT, "admin", null, 0, "d")));
+
+        // When
+        broadcaster.broadcast(List.of(
+                new Transition(1L, "Politics", "Daily", REPORTED_AT, ReportStatus.PENDING, ReportStatus.APPROVED),
+                new Transition(2L, "Health", "Weekly", REPORTED_AT, ReportStatus.PENDING, null)));
+
+        // Then
+        assertTrue(publicSubscriber.text().contains("event:report\ndata:{\"id\":1,"));
+        assertFalse(publicSubscriber.text().contains("removed"));
+        assertTrue(adminSubscriber.text().contains("event:report\ndata:{\"id\":1,\"from\":\"PENDING\""));
+        assertTrue(adminSubscriber.text().contains("event:removed\ndata:{\"id\":2,\"from\":\"PENDING\"}"));
+    }
+
+    @Test
+    void testBroadcast_PublicFrameOmitsModerationDetails() throws Exception {
+        // Given
+        RecordingEmitter publicSubscriber = subscribe(Channel.PUBLIC);
+        RecordingEmitter adminSubscriber = subscribe(Channel.ADMIN);
+        when(reportRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(new ReportSummary(1L, "Daily",
+                "https://example.com/1", "Politics", ReportStatus.REJECTED, REPORTED_AT, REPORTED_AT, null, "moderator",
+                3, 7L, "d")));
+
+        // When
+        broadcaster.broadcast(List.of(
+                new Transition(1L, "Politics", "Daily", REPORTED_AT, ReportStatus.PENDING, ReportStatus.REJECTED)));
+
+        // Then
+        String data = publicSubscriber.text().split("data:")[1].trim();
+        Map<String, Object> report = objectMapper.readValue(data, new TypeReference<Map<String, Object>>() { });
+        assertEquals(Set.of("id", "source", "url", "category", "status", "reportedAt", "processedAt", "excerpt"),
+                report.keySet());
+        assertFalse(report.containsKey("approvedBy"));
+        assertFalse(report.containsKey("rejectedBy"));
+        assertEquals("Daily", report.get("source"));
+        assertTrue(adminSubscriber.text().contains("\"rejectedBy\":\"moderator\""));
+    }
+
+    @Test
+    void testBroadcast_LargeChangeIsAnnouncedAsRefreshWithoutQuery() throws Exception {
+        // Given
+        RecordingEmitter publicSubscriber = subscribe(Channel.PUBLIC);
+        RecordingEmitter adminSubscriber = subscribe(Channel.ADMIN);
+        List<Transition> transitions = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            transitions.add(new Transition(id, "Politics", "Daily", REPORTED_AT, null, ReportStatus.PENDING));
+        }
+
+        // When
+        broadcaster.broadcast(transitions);
+
+        // Then
+        assertEquals("event:refresh\ndata:{\"count\":3}\n\n", adminSubscriber.text());
+        assertEquals("", publicSubscriber.text());
+        verify(reportRepository, never()).findSummariesByIdIn(anyList());
+    }
+
+    @Test
+    void testSubscribe_PublicSubscribersBeyondLimitDoNotLockOutAdmins() {
+        // Given
+        ReflectionTestUtils.setField(broadcaster, "maxPublicSubscribers", 1);
+        broadcaster.subscribe(Channel.PUBLIC, "10.0.0.1");
+
+        // When
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                () -> broadcaster.subscribe(Channel.PUBLIC, "10.0.0.2"));
+        broadcaster.subscribe(Channel.ADMIN, "10.0.0.3");
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void testSubscribe_LimitsPublicStreamsPerAddress() {
+        // Given
+        ReflectionTestUtils.setField(broadcaster, "ipBuckets", new TokenBucketStore(1, Duration.ofMinutes(10), 100));
+        broadcaster.subscribe(Channel.PUBLIC, "10.0.0.1");
+
+        // When
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                () -> broadcaster.subscribe(Channel.PUBLIC, "10.0.0.1"));
+        broadcaster.subscribe(Channel.PUBLIC, "10.0.0.2");
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatusCode());
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private RecordingEmitter subscribe(Channel channel) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        Map<Channel, Set<SseEmitter>> subscribers = (Map<Channel, Set<SseEmitter>>) ReflectionTestUtils.getField(broadcaster, "subscribers");
+        subscribers.get(channel).add(emitter);
+        return emitter;
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Object> sent = new ArrayList<>();
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) {
+            items.forEach(item -> sent.add(item.getData()));
+        }
+
+        synchronized String text() {
+            return sent.stream().map(String::valueOf).collect(Collectors.joining());
+        }
+    }
+}
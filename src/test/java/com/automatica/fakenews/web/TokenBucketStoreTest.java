@@ -0,0 +1,79 @@
+package com.automatica.fakenews.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void testTryConsume_AllowsBurstThenReportsWaitUntilNextToken() {
+        // Given
+        TokenBucketStore store = new TokenBucketStore(3, Duration.ofSeconds(30), 100, clock::get);
+
+        // When
+        Duration first = store.tryConsume("10.0.0.1");
+        store.tryConsume("10.0.0.1");
+        store.tryConsume("10.0.0.1");
+        Duration fourth = store.tryConsume("10.0.0.1");
+
+        // Then
+        assertEquals(Duration.ZERO, first);
+        assertEquals(Duration.ofSeconds(10), fourth);
+        assertEquals(Duration.ZERO, store.tryConsume("10.0.0.2"));
+    }
+
+    @Test
+    void testTryConsume_RefillsOverTime() {
+        // Given
+        TokenBucketStore store = new TokenBucketStore(2, Duration.ofSeconds(20), 100, clock::get);
+        store.tryConsume("client");
+        store.tryConsume("client");
+
+        // When
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Then
+        assertEquals(Duration.ZERO, store.tryConsume("client"));
+        assertFalse(store.tryConsume("client").isZero());
+    }
+
+    @Test
+    void testEvictIdle_RemovesOnlyRefilledBuckets() {
+        // Given
+        TokenBucketStore store = new TokenBucketStore(2, Duration.ofSeconds(20), 100, clock::get);
+        store.tryConsume("idle");
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        store.tryConsume("busy");
+        store.tryConsume("busy");
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // When
+        int evicted = store.evictIdle();
+
+        // Then
+        assertEquals(1, evicted);
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testTryConsume_NewClientsShareOverflowBucketWhenFull() {
+        // Given
+        TokenBucketStore store = new TokenBucketStore(1, Duration.ofMinutes(1), 1, clock::get);
+        store.tryConsume("tracked");
+
+        // When
+        Duration firstUntracked = store.tryConsume("untracked-1");
+        Duration secondUntracked = store.tryConsume("untracked-2");
+
+        // Then
+        assertEquals(Duration.ZERO, firstUntracked);
+        assertFalse(secondUntracked.isZero());
+        assertEquals(1, store.size());
+    }
+}